@@ -0,0 +1,77 @@
+package file_analizer;
+
+import file_analizer.analizers.FileAnalyzer;
+import file_analizer.analizers.MultipartFileAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static util.MimeTypes.getMimeType;
+
+/**
+ * Type detection of uploaded documents, from disk and from a multipart request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeAnalizerBenchmark {
+
+    private static final byte[] PDF = ("%PDF-1.4\n1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n" +
+            "trailer\n<< /Root 1 0 R >>\n%%EOF\n").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D,
+            'I', 'H', 'D', 'R', 0, 0, 0, 1, 0, 0, 0, 1, 8, 2, 0, 0, 0};
+
+    private final FileAnalyzer fileAnalyzer = new FileAnalyzer();
+    private final MultipartFileAnalyzer multipartAnalyzer = new MultipartFileAnalyzer();
+    private File pdfFile;
+    private File pngFile;
+    private MockMultipartFile pdfMultipart;
+
+    @Setup
+    public void setup() throws IOException {
+        pdfFile = File.createTempFile("contract", ".pdf");
+        pngFile = File.createTempFile("document", ".png");
+        Files.write(pdfFile.toPath(), PDF);
+        Files.write(pngFile.toPath(), PNG);
+        pdfMultipart = new MockMultipartFile("file", "contract.pdf", "application/pdf", PDF);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(pdfFile.toPath());
+        Files.deleteIfExists(pngFile.toPath());
+    }
+
+    @Benchmark
+    public String fileTypeOfPdf() {
+        return fileAnalyzer.getFileType(pdfFile);
+    }
+
+    @Benchmark
+    public String fileTypeOfPng() {
+        return fileAnalyzer.getFileType(pngFile);
+    }
+
+    @Benchmark
+    public String multipartFileType() {
+        return multipartAnalyzer.getFileType(pdfMultipart);
+    }
+
+    @Benchmark
+    public String mimeTypeOfFile() {
+        return getMimeType(pdfFile);
+    }
+
+}
@@ -0,0 +1,48 @@
+package identification_number;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CNPJ checks over a valid, an invalid, a repeated-digit and a formatted value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CnpjUtilBenchmark {
+
+    @Param({"11222333000181", "11222333000182", "11111111111111", "11.222.333/0001-81"})
+    public String cnpj;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        bytes = cnpj.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return CnpjUtil.validate(cnpj);
+    }
+
+    @Benchmark
+    public boolean validateBytes() {
+        return CnpjUtil.validate(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    public String format() {
+        return CnpjUtil.format(cnpj);
+    }
+
+}
@@ -0,0 +1,39 @@
+package identification_number;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPF checks over a valid, an invalid, a repeated-digit and a formatted value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CpfUtilBenchmark {
+
+    @Param({"52998224725", "52998224726", "11111111111", "529.982.247-25"})
+    public String cpf;
+
+    @Benchmark
+    public boolean validate() {
+        return CpfUtil.validate(cpf);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return CpfUtil.normalize(cpf);
+    }
+
+    @Benchmark
+    public String format() {
+        return CpfUtil.format(cpf);
+    }
+
+}
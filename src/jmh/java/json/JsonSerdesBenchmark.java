@@ -0,0 +1,125 @@
+package json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and parsing of a loan proposal, the typical body exchanged with partners, with a growing number of
+ * installments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerdesBenchmark {
+
+    @Param({"12", "420"})
+    public int installments;
+
+    private Proposal proposal;
+    private String json;
+    private byte[] bytes;
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        proposal = Proposal.sample(installments);
+        json = JsonSerdes.jsonfy(proposal);
+        bytes = JsonSerdes.jsonfyAsBytes(proposal);
+        ids = new String[installments * 10];
+        for (var i = 0; i < ids.length; i++)
+            ids[i] = "6f1c2a9e-" + (100000 + i);
+    }
+
+    @Benchmark
+    public String jsonfy() {
+        return JsonSerdes.jsonfy(proposal);
+    }
+
+    @Benchmark
+    public byte[] jsonfyAsBytes() {
+        return JsonSerdes.jsonfyAsBytes(proposal);
+    }
+
+    @Benchmark
+    public String jsonfyArray() {
+        return JsonSerdes.jsonfy(ids, true);
+    }
+
+    @Benchmark
+    public Proposal parseString() {
+        return JsonSerdes.parse(json, Proposal.class);
+    }
+
+    @Benchmark
+    public Proposal parseBytes() {
+        return JsonSerdes.parse(bytes, Proposal.class);
+    }
+
+    @Benchmark
+    public Proposal convert() {
+        return JsonSerdes.convert(proposal, Proposal.class);
+    }
+
+    @Benchmark
+    public Proposal convertValue() {
+        return JsonSerdes.mapper().convertValue(proposal, Proposal.class);
+    }
+
+    public static class Proposal {
+
+        public String id;
+        public String document;
+        public String name;
+        public BigDecimal financedValue;
+        public BigDecimal monthlyCet;
+        public LocalDate contractDate;
+        public LocalDateTime createdAt;
+        public List<Parcel> parcels;
+
+        static Proposal sample(int term) {
+            var proposal = new Proposal();
+            proposal.id = "6f1c2a9e-8d3b-4f0e-9a51-3c7d2e1b0a44";
+            proposal.document = "11222333000181";
+            proposal.name = "Comercio de Alimentos Sao Joao Ltda";
+            proposal.financedValue = new BigDecimal("150000.00");
+            proposal.monthlyCet = new BigDecimal("1.990");
+            proposal.contractDate = LocalDate.of(2022, 10, 17);
+            proposal.createdAt = LocalDateTime.of(2022, 10, 17, 14, 35, 2);
+            proposal.parcels = new ArrayList<>(term);
+            for (var j = 1; j <= term; j++) {
+                var parcel = new Parcel();
+                parcel.number = j;
+                parcel.dueDate = proposal.contractDate.plusMonths(j);
+                parcel.value = new BigDecimal("4532.17");
+                parcel.paid = j < 3;
+                proposal.parcels.add(parcel);
+            }
+
+            return proposal;
+        }
+
+    }
+
+    public static class Parcel {
+
+        public int number;
+        public LocalDate dueDate;
+        public BigDecimal value;
+        public boolean paid;
+
+    }
+
+}
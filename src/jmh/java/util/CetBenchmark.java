@@ -0,0 +1,51 @@
+package util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single quotes of {@link Cet}, from a short personal loan to a 35-year real-estate financing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CetBenchmark {
+
+    @Param({"12", "48", "420"})
+    public int term;
+
+    private double financedValue;
+    private double installment;
+    private LocalDate contractDate;
+    private LocalDate firstDueDate;
+
+    @Setup
+    public void setup() {
+        financedValue = term == 420 ? 350_000.0 : 15_000.0;
+        // ~1.99% a month, the usual consumer credit rate
+        var rate = 0.0199;
+        installment = financedValue * rate / (1.0 - Math.pow(1.0 + rate, -term));
+        contractDate = LocalDate.of(2022, 10, 17);
+        firstDueDate = contractDate.plusDays(35);
+    }
+
+    @Benchmark
+    public double monthly() {
+        return Cet.monthly(financedValue, installment, term);
+    }
+
+    @Benchmark
+    public double annual() {
+        return Cet.annual(financedValue, installment, term, contractDate, firstDueDate);
+    }
+
+}
@@ -0,0 +1,41 @@
+package util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date parsing as done per row by the spreadsheet and CSV imports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateUtilBenchmark {
+
+    @Param({"17/10/2022", "2022-10-17", "10.17.2022", "2022-10-17T14:35:02"})
+    public String date;
+
+    @Benchmark
+    public LocalDateTime parse() {
+        return DateUtil.parse(date);
+    }
+
+    @Benchmark
+    public LocalDate parseToLocalDateWithPattern() {
+        return DateUtil.parseToLocalDate("17/10/2022", "dd/MM/yyyy");
+    }
+
+    @Benchmark
+    public LocalDate parseToLocalDateMonthName() {
+        return DateUtil.parseToLocalDate("outubro 2022");
+    }
+
+}
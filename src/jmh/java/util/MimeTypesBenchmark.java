@@ -0,0 +1,29 @@
+package util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extension lookups of {@link MimeTypes}, including a mixed-case and an unknown extension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MimeTypesBenchmark {
+
+    @Param({"pdf", "XLSX", "unknown"})
+    public String extension;
+
+    @Benchmark
+    public String getMimeType() {
+        return MimeTypes.getMimeType(extension);
+    }
+
+}
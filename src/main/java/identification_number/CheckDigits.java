@@ -0,0 +1,160 @@
+package identification_number;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Modulo 11 check digits of a document number, shared by {@link CnpjUtil} and {@link CpfUtil}, which only differ on
+ * the weights, the mask and whether letters are allowed. Intended to internal usage only.
+ * <p>
+ * Values are read raw or exactly as the mask formats them, in a single pass and without allocating.
+ */
+final class CheckDigits {
+
+    private static final int INVALID = -1;
+
+    private final String mask;
+    private final int[] firstWeights;
+    private final int[] secondWeights;
+    private final boolean alphanumeric;
+    private final int baseLength;
+    private final int rawLength;
+
+    /**
+     * Creates the check digits of a document.
+     *
+     * @param mask          {@link String} The formatted layout, {@code #} for each char of the value.
+     * @param firstWeights  {@link Integer} Weights of the base chars on the first check digit.
+     * @param secondWeights {@link Integer} Weights of the base chars on the second check digit, which also weights the
+     *                      first check digit by 2.
+     * @param alphanumeric  {@link Boolean} Whether the base chars may be upper case letters.
+     */
+    CheckDigits(String mask, int[] firstWeights, int[] secondWeights, boolean alphanumeric) {
+        this.mask = mask;
+        this.firstWeights = firstWeights;
+        this.secondWeights = secondWeights;
+        this.alphanumeric = alphanumeric;
+        this.baseLength = firstWeights.length;
+        this.rawLength = baseLength + 2;
+    }
+
+    boolean validate(CharSequence value, int start, int end) {
+        return validate(value, null, start, end);
+    }
+
+    boolean validate(byte[] value, int offset, int length) {
+        return validate(null, value, offset, offset + length);
+    }
+
+    //-- Bulk Operations
+
+    BitSet validate(CharSequence[] column) {
+        var valid = new BitSet(column.length);
+        for (var row = 0; row < column.length; row++) {
+            var value = column[row];
+            if (value != null && validate(value, 0, value.length()))
+                valid.set(row);
+        }
+
+        return valid;
+    }
+
+    BitSet validate(List<? extends CharSequence> column) {
+        var valid = new BitSet(column.size());
+        var row = 0;
+        for (var value : column) {
+            if (value != null && validate(value, 0, value.length()))
+                valid.set(row);
+            row++;
+        }
+
+        return valid;
+    }
+
+    BitSet validateLines(byte[] data, int offset, int length) {
+        var valid = new BitSet();
+        var end = offset + length;
+        var row = 0;
+        var lineStart = offset;
+
+        for (var i = offset; i <= end; i++) {
+            if (i < end && data[i] != '\n')
+                continue;
+            if (i == end && lineStart == end)
+                break;
+
+            var lineEnd = i > lineStart && data[i - 1] == '\r' ? i - 1 : i;
+            if (validate(data, lineStart, lineEnd - lineStart))
+                valid.set(row);
+            row++;
+            lineStart = i + 1;
+        }
+
+        return valid;
+    }
+
+    //-- Support methods
+
+    // the value is read from the text, or from the bytes when there is no text
+    private boolean validate(CharSequence text, byte[] bytes, int start, int end) {
+        var formatted = end - start == mask.length();
+        if (!formatted && end - start != rawLength)
+            return false;
+
+        var count = 0;
+        var firstSum = 0;
+        var secondSum = 0;
+        var firstCheck = 0;
+        var secondCheck = 0;
+        var head = 0;
+        var differs = 0;
+
+        for (var i = start; i < end; i++) {
+            var c = text != null ? text.charAt(i) : (char) (bytes[i] & 0xFF);
+            if (formatted && mask.charAt(i - start) != '#') {
+                if (c != mask.charAt(i - start))
+                    return false;
+                continue;
+            }
+
+            var value = valueOf(c, count);
+            if (value == INVALID)
+                return false;
+
+            if (count == 0)
+                head = value;
+            differs |= value ^ head;
+            if (count < baseLength) {
+                firstSum += value * firstWeights[count];
+                secondSum += value * secondWeights[count];
+            } else if (count == baseLength) {
+                firstCheck = value;
+            } else {
+                secondCheck = value;
+            }
+            count++;
+        }
+
+        return differs != 0 && matches(firstSum, secondSum, firstCheck, secondCheck);
+    }
+
+    // value of the char in the check digit sums, or INVALID; letters are weighted by their ASCII code minus 48
+    private int valueOf(char c, int count) {
+        if (c >= '0' && c <= '9' || alphanumeric && c >= 'A' && c <= 'Z' && count < baseLength)
+            return c - '0';
+
+        return INVALID;
+    }
+
+    private static boolean matches(int firstSum, int secondSum, int firstCheck, int secondCheck) {
+        var remainder = firstSum % 11;
+        var first = remainder < 2 ? 0 : 11 - remainder;
+        if (first != firstCheck)
+            return false;
+
+        // the first check digit is weighted 2 on the second one
+        remainder = (secondSum + 2 * first) % 11;
+        return (remainder < 2 ? 0 : 11 - remainder) == secondCheck;
+    }
+
+}
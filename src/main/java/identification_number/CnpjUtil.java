@@ -2,85 +2,94 @@ package identification_number;
 
 import javax.swing.text.MaskFormatter;
 import java.text.ParseException;
-import java.util.InputMismatchException;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Has the responsibility to perform operations on String objects that must contain CNPJ values.
  */
 public class CnpjUtil {
 
+    private static final String MASK = "##.###.###/####-##";
+    // weights of the 12 base chars on the first and on the second check digit; letters only in the alphanumeric CNPJ
+    private static final CheckDigits CHECK_DIGITS = new CheckDigits(MASK,
+            new int[]{5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2},
+            new int[]{6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3},
+            true);
+
     private CnpjUtil() {
     }
 
     /**
      * Checks if a CNPJ value is valid.
      *
-     * @param cnpj {@link String} The String object to check.
+     * @param cnpj {@link String} The String object to check, raw ({@code 11222333000181}) or formatted
+     *             ({@code 11.222.333/0001-81}).
      * @return {@link Boolean} The primitive boolean. True if the value of cnpj is correct, false otherwaise.
-     * If it contains invalid characters, an InputMismatchException exception is thrown.
+     * @see #validate(CharSequence, int, int)
      */
     public static boolean validate(String cnpj) {
-        // considera-se erro CNPJ's formados por uma sequência de números iguais
-        if (cnpj.equals("00000000000000") || cnpj.equals("11111111111111") ||
-                cnpj.equals("22222222222222") || cnpj.equals("33333333333333") ||
-                cnpj.equals("44444444444444") || cnpj.equals("55555555555555") ||
-                cnpj.equals("66666666666666") || cnpj.equals("77777777777777") ||
-                cnpj.equals("88888888888888") || cnpj.equals("99999999999999") ||
-                (cnpj.length() != 14))
-            return (false);
+        return cnpj != null && validate(cnpj, 0, cnpj.length());
+    }
 
-        char dig13;
-        char dig14;
-        int sm;
-        int i;
-        int r;
-        int num;
-        int peso;
+    /**
+     * Checks if the CNPJ in the given range of the text is valid, in a single pass and without allocating.
+     * <p>
+     * The value is either the 14 characters alone or the 14 characters with the separators of the
+     * {@code ##.###.###/####-##} mask, each at its own position; any other character or layout makes the value
+     * invalid. The 12 first characters may be upper case letters, as in the alphanumeric CNPJ of the Receita Federal,
+     * which are weighted by their ASCII code minus 48 like the digits. Values made of a single repeated character are
+     * invalid even though their check digits match.
+     *
+     * @param cnpj  {@link CharSequence} The text holding the CNPJ.
+     * @param start {@link Integer} The index of the first char of the CNPJ.
+     * @param end   {@link Integer} The index after the last char of the CNPJ.
+     * @return {@link Boolean} True if the value is a valid CNPJ.
+     */
+    public static boolean validate(CharSequence cnpj, int start, int end) {
+        return CHECK_DIGITS.validate(cnpj, start, end);
+    }
 
-        // "try" - protege o código para eventuais erros de conversao de tipo (int)
-        try {
-            // Calculo do 1.º. Digito Verificador
-            sm = 0;
-            peso = 2;
-            for (i = 11; i >= 0; i--) {
-                // converte o i-ésimo caractere do CNPJ em um número:
-                // por exemplo, transforma o caractere '0' no inteiro 0
-                // (48 eh a posição de '0' na tabela ASCII)
-                num = cnpj.charAt(i) - 48;
-                sm = sm + (num * peso);
-                peso = peso + 1;
-                if (peso == 10)
-                    peso = 2;
-            }
+    /**
+     * Checks if the CNPJ in the given range of an ASCII (or UTF-8) buffer is valid, see
+     * {@link #validate(CharSequence, int, int)}.
+     *
+     * @param cnpj   {@link Byte} The buffer holding the CNPJ.
+     * @param offset {@link Integer} The index of the first byte of the CNPJ.
+     * @param length {@link Integer} The number of bytes of the CNPJ.
+     * @return {@link Boolean} True if the value is a valid CNPJ.
+     */
+    public static boolean validate(byte[] cnpj, int offset, int length) {
+        return CHECK_DIGITS.validate(cnpj, offset, length);
+    }
 
-            r = sm % 11;
-            if ((r == 0) || (r == 1))
-                dig13 = '0';
-            else
-                dig13 = (char) ((11 - r) + 48);
+    //-- Bulk Operations
 
-            // Calculo do 2.º. Digito Verificador
-            sm = 0;
-            peso = 2;
-            for (i = 12; i >= 0; i--) {
-                num = cnpj.charAt(i) - 48;
-                sm = sm + (num * peso);
-                peso = peso + 1;
-                if (peso == 10)
-                    peso = 2;
-            }
+    /**
+     * Validates a whole column of CNPJ values.
+     *
+     * @param column {@link CharSequence} The values, <b>null</b> ones are invalid.
+     * @return {@link BitSet} The rows holding a valid CNPJ.
+     */
+    public static BitSet validate(CharSequence[] column) {
+        return CHECK_DIGITS.validate(column);
+    }
 
-            r = sm % 11;
-            if ((r == 0) || (r == 1))
-                dig14 = '0';
-            else
-                dig14 = (char) ((11 - r) + 48);
+    public static BitSet validate(List<? extends CharSequence> column) {
+        return CHECK_DIGITS.validate(column);
+    }
 
-            // Verifica se os dígitos calculados conferem com os dígitos informados.
-            return (dig13 == cnpj.charAt(12)) && (dig14 == cnpj.charAt(13));
-        } catch (InputMismatchException error) {
-            return (false);
-        }
+    /**
+     * Validates the lines of an ASCII buffer, such as a chunk of a registry extract with one CNPJ per line. Lines end
+     * with {@code \n} or {@code \r\n}; a last line without terminator is validated too.
+     *
+     * @param data   {@link Byte} The buffer.
+     * @param offset {@link Integer} The index of the first byte of the first line.
+     * @param length {@link Integer} The number of bytes to read.
+     * @return {@link BitSet} The lines holding a valid CNPJ, numbered from 0.
+     */
+    public static BitSet validateLines(byte[] data, int offset, int length) {
+        return CHECK_DIGITS.validateLines(data, offset, length);
     }
 
     /**
@@ -91,7 +100,7 @@ public class CnpjUtil {
      */
     public static String format(String cnpj) {
         try {
-            var mask = new MaskFormatter("##.###.###/####-##");
+            var mask = new MaskFormatter(MASK);
             mask.setValueContainsLiteralCharacters(false);
             cnpj = mask.valueToString(cnpj);
         } catch (ParseException ignored) {
@@ -100,5 +109,4 @@ public class CnpjUtil {
         return cnpj;
     }
 
-
 }
@@ -0,0 +1,178 @@
+package identification_number;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Has the responsibility to perform operations on String objects that must contain CPF values.
+ * <p>
+ * Values are read raw ({@code 52998224725}) or formatted ({@code 529.982.247-25}) in a single pass, without regular
+ * expressions or intermediate strings, using the same mod-11 routine ({@link CheckDigits}) as {@link CnpjUtil}.
+ */
+public class CpfUtil {
+
+    private static final int LENGTH = 11;
+    // weights go from 10 down to 2 on the first check digit and from 11 down to 3 on the second one
+    private static final CheckDigits CHECK_DIGITS = new CheckDigits("###.###.###-##",
+            new int[]{10, 9, 8, 7, 6, 5, 4, 3, 2},
+            new int[]{11, 10, 9, 8, 7, 6, 5, 4, 3},
+            false);
+
+    private static final int SEPARATOR = -1;
+    private static final int INVALID = -2;
+
+    private CpfUtil() {
+    }
+
+    /**
+     * Checks if a CPF value is valid.
+     *
+     * @param cpf {@link String} The String object to check, raw or formatted.
+     * @return {@link Boolean} The primitive boolean. True if the value of cpf is correct, false otherwaise.
+     * @see #validate(CharSequence, int, int)
+     */
+    public static boolean validate(String cpf) {
+        return cpf != null && validate(cpf, 0, cpf.length());
+    }
+
+    /**
+     * Checks if the CPF in the given range of the text is valid, in a single pass and without allocating.
+     * <p>
+     * The value is either the 11 digits alone or the 11 digits with the separators of the {@code ###.###.###-##} mask,
+     * each at its own position; any other character or layout makes the value invalid. Values made of a single
+     * repeated digit are invalid even though their check digits match.
+     *
+     * @param cpf   {@link CharSequence} The text holding the CPF.
+     * @param start {@link Integer} The index of the first char of the CPF.
+     * @param end   {@link Integer} The index after the last char of the CPF.
+     * @return {@link Boolean} True if the value is a valid CPF.
+     */
+    public static boolean validate(CharSequence cpf, int start, int end) {
+        return CHECK_DIGITS.validate(cpf, start, end);
+    }
+
+    /**
+     * Checks if the CPF in the given range of an ASCII (or UTF-8) buffer is valid, see
+     * {@link #validate(CharSequence, int, int)}.
+     *
+     * @param cpf    {@link Byte} The buffer holding the CPF.
+     * @param offset {@link Integer} The index of the first byte of the CPF.
+     * @param length {@link Integer} The number of bytes of the CPF.
+     * @return {@link Boolean} True if the value is a valid CPF.
+     */
+    public static boolean validate(byte[] cpf, int offset, int length) {
+        return CHECK_DIGITS.validate(cpf, offset, length);
+    }
+
+    //-- Bulk Operations
+
+    /**
+     * Validates a whole column of CPF values.
+     *
+     * @param column {@link CharSequence} The values, <b>null</b> ones are invalid.
+     * @return {@link BitSet} The rows holding a valid CPF.
+     */
+    public static BitSet validate(CharSequence[] column) {
+        return CHECK_DIGITS.validate(column);
+    }
+
+    public static BitSet validate(List<? extends CharSequence> column) {
+        return CHECK_DIGITS.validate(column);
+    }
+
+    /**
+     * Validates the lines of an ASCII buffer with one CPF per line. Lines end with {@code \n} or {@code \r\n}; a last
+     * line without terminator is validated too.
+     *
+     * @param data   {@link Byte} The buffer.
+     * @param offset {@link Integer} The index of the first byte of the first line.
+     * @param length {@link Integer} The number of bytes to read.
+     * @return {@link BitSet} The lines holding a valid CPF, numbered from 0.
+     */
+    public static BitSet validateLines(byte[] data, int offset, int length) {
+        return CHECK_DIGITS.validateLines(data, offset, length);
+    }
+
+    //-- Formatting Operations
+
+    /**
+     * Gets the 11 digits of a CPF value, without separators. Values with fewer digits are padded with leading zeros,
+     * as CPFs stored as numbers (spreadsheets, numeric columns) lose them.
+     *
+     * @param cpf {@link CharSequence} The CPF value, raw, formatted or without its leading zeros.
+     * @return {@link String} The 11 digits, or <b>null</b> if the value has no digit, more than 11 digits or any
+     * character other than digits and separators. The check digits are not validated.
+     */
+    public static String normalize(CharSequence cpf) {
+        if (cpf == null)
+            return null;
+
+        var digits = new char[LENGTH];
+        var count = 0;
+        for (var i = 0; i < cpf.length(); i++) {
+            var value = valueOf(cpf.charAt(i));
+            if (value == SEPARATOR)
+                continue;
+            if (value == INVALID || count == LENGTH)
+                return null;
+            digits[count++] = cpf.charAt(i);
+        }
+        if (count == 0)
+            return null;
+
+        if (count < LENGTH) {
+            System.arraycopy(digits, 0, digits, LENGTH - count, count);
+            for (var i = 0; i < LENGTH - count; i++)
+                digits[i] = '0';
+        }
+
+        return new String(digits);
+    }
+
+    /**
+     * Converts the CPF value to "999.999.999-99" pattern.
+     *
+     * @param cpf {@link String} The String object containing a CPF value, raw or formatted.
+     * @return {@link String} The String object containing a converted CPF value, or the given one if it is not made of
+     * 11 digits.
+     */
+    public static String format(String cpf) {
+        if (cpf == null)
+            return null;
+
+        var formatted = new char[LENGTH + 3];
+        var count = 0;
+        for (var i = 0; i < cpf.length(); i++) {
+            var c = cpf.charAt(i);
+            var value = valueOf(c);
+            if (value == SEPARATOR)
+                continue;
+            if (value == INVALID || count == LENGTH)
+                return cpf;
+
+            // a separator goes before the 4th, the 7th and the 10th digit
+            formatted[count + count / 3] = c;
+            count++;
+        }
+        if (count != LENGTH)
+            return cpf;
+
+        formatted[3] = '.';
+        formatted[7] = '.';
+        formatted[11] = '-';
+        return new String(formatted);
+    }
+
+    //-- Support methods
+
+    // value of the digit, SEPARATOR or INVALID
+    private static int valueOf(char c) {
+        if (c >= '0' && c <= '9')
+            return c - '0';
+        if (c == '.' || c == '-')
+            return SEPARATOR;
+
+        return INVALID;
+    }
+
+}
@@ -0,0 +1,514 @@
+package json;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import org.slf4j.Logger;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Converts instances of a source class into a target class with the same result as
+ * {@link ObjectMapper#convertValue(Object, Class)}, but without the intermediate token buffer.
+ * <p>
+ * The properties of both classes are discovered once by the Jackson introspection of the given mapper, so names,
+ * visibility, {@code @JsonProperty}, {@code @JsonIgnore}, {@code @JsonIgnoreProperties} and the inclusion rules are the
+ * ones the mapper itself would use. Each matched property is then compiled into a getter and setter pair spun by the
+ * {@link LambdaMetafactory}. Immutable values of the same type (primitives, strings, enums, big numbers,
+ * {@code java.time}) are copied directly, nested beans and lists of beans go through the converter of their own pair,
+ * and any other value is converted by the mapper on its own.
+ * <p>
+ * Pairs whose (de)serialization the mapper customizes (custom serializers, creators, builders, polymorphic types,
+ * unwrapping, views, any getters/setters, {@code @JsonValue}, format overrides) and sources the mapper does not write
+ * with a plain {@link BeanSerializer} (json trees, {@link JsonSerializable} values) are not compiled and fall back to
+ * {@link ObjectMapper#convertValue(Object, Class)}, see {@link #isCompiled()}. Instances are immutable, thread-safe and
+ * shared through {@link JsonSerdes#converter(Class, Class)}.
+ *
+ * @param <S> The source type.
+ * @param <T> The target type.
+ */
+public final class BeanConverter<S, T> {
+
+    private static final Logger log = getLogger(BeanConverter.class);
+
+    // annotations that change how a property is written or read beyond its name and inclusion
+    private static final List<Class<? extends Annotation>> CUSTOMIZATIONS = List.of(
+            JsonSerialize.class, JsonDeserialize.class, JsonFormat.class, JsonRawValue.class, JsonUnwrapped.class,
+            JsonTypeInfo.class, JsonView.class, JsonManagedReference.class, JsonBackReference.class,
+            JacksonInject.class);
+    private static final Set<Class<?>> VALUE_TYPES = Set.of(String.class, BigDecimal.class, BigInteger.class,
+            UUID.class);
+
+    private final ObjectMapper mapper;
+    private final Class<T> target;
+    // null when the pair is not compiled
+    private final Supplier<Object> constructor;
+    private final Property[] properties;
+
+    BeanConverter(ObjectMapper mapper, Class<S> source, Class<T> target) {
+        this.mapper = mapper;
+        this.target = target;
+
+        Supplier<Object> compiledConstructor = null;
+        Property[] compiledProperties = null;
+        try {
+            compiledProperties = compile(mapper, source, target);
+            if (compiledProperties != null)
+                compiledConstructor = constructor(mapper, target);
+        } catch (Throwable ex) {
+            log.trace("Error detected when trying to compile the conversion of {} to {}", source, target, ex);
+        }
+        this.constructor = compiledConstructor;
+        this.properties = compiledConstructor != null
+                ? compiledProperties
+                : null;
+    }
+
+    /**
+     * Tells if the conversion runs through the compiled property copiers.
+     *
+     * @return <b>true</b> if compiled, <b>false</b> if it falls back to the mapper.
+     */
+    public boolean isCompiled() {
+        return constructor != null;
+    }
+
+    /**
+     * Converts the given object to the target type.
+     *
+     * @param obj The object to be converted.
+     * @return The converted object, <b>null</b> if the given object is <b>null</b>.
+     * @throws IllegalArgumentException If the conversion fails.
+     */
+    public T convert(S obj) {
+        return convert(obj, null);
+    }
+
+    // the path holds the beans being converted above this one, to stop at cycles as the mapper does
+    private T convert(S obj, Path path) {
+        if (obj == null)
+            return null;
+        if (constructor == null)
+            return mapper.convertValue(obj, target);
+
+        for (var parent = path; parent != null; parent = parent.parent())
+            if (parent.value() == obj)
+                throw new IllegalArgumentException("Cannot convert " + obj.getClass().getName() + " to " +
+                        target.getName() + ": direct self-reference leading to cycle");
+
+        try {
+            var result = constructor.get();
+            for (var property : properties)
+                property.copy(mapper, obj, result, path);
+
+            return target.cast(result);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cannot convert " + obj.getClass().getName() + " to " +
+                    target.getName() + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    //-- Support methods
+
+    private static Property[] compile(ObjectMapper mapper, Class<?> source, Class<?> target) throws Throwable {
+        if (!isBean(source) || !isBean(target) || Modifier.isAbstract(target.getModifiers()))
+            return null;
+        // trees and self-serializing values are read by their own serializer, not by their properties
+        var provider = mapper.getSerializerProviderInstance();
+        if (provider.findValueSerializer(source).getClass() != BeanSerializer.class)
+            return null;
+
+        var serialization = mapper.getSerializationConfig();
+        var deserialization = mapper.getDeserializationConfig();
+        var reader = serialization.introspect(serialization.constructType(source));
+        var writer = deserialization.introspect(deserialization.constructType(target));
+        if (isCustomized(reader) || isCustomized(writer) || writer.findAnySetterAccessor() != null)
+            return null;
+
+        var ignoredOnRead = serialization.getDefaultPropertyIgnorals(source, reader.getClassInfo())
+                .findIgnoredForSerialization();
+        var writeIgnorals = deserialization.getDefaultPropertyIgnorals(target, writer.getClassInfo());
+        var ignoredOnWrite = writeIgnorals.findIgnoredForDeserialization();
+        // the mapper fails on them, so the fallback is kept to report it
+        var failOnUnknown = deserialization.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) &&
+                !writeIgnorals.getIgnoreUnknown();
+        var force = serialization.isEnabled(MapperFeature.OVERRIDE_PUBLIC_ACCESS_MODIFIERS);
+        var properties = new ArrayList<Property>();
+
+        for (var from : reader.findProperties()) {
+            var accessor = from.getAccessor();
+            if (accessor == null || ignoredOnRead.contains(from.getName()) || isCustomized(from))
+                return null;
+
+            var to = findProperty(writer, from.getName());
+            if (to == null && failOnUnknown)
+                return null;
+            if (to == null || ignoredOnWrite.contains(to.getName()))
+                continue;
+            if (isCustomized(to) || to.hasConstructorParameter())
+                return null;
+
+            var mutator = to.hasSetter() ? to.getSetter() : to.getField();
+            if (mutator == null) {
+                // USE_GETTERS_AS_SETTERS fills collections through their getters
+                if (to.hasGetter())
+                    return null;
+                continue;
+            }
+
+            var inclusion = serialization.getDefaultInclusion(source, accessor.getRawType())
+                    .withOverrides(from.findInclusion())
+                    .getValueInclusion();
+            if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.NON_NULL &&
+                    inclusion != JsonInclude.Include.NON_ABSENT && inclusion != JsonInclude.Include.NON_EMPTY &&
+                    inclusion != JsonInclude.Include.USE_DEFAULTS)
+                return null;
+
+            var sourceType = accessor.getType();
+            var targetType = mutator instanceof AnnotatedMethod setter
+                    ? setter.getParameterType(0)
+                    : mutator.getType();
+            accessor.fixAccess(force);
+            mutator.fixAccess(force);
+            properties.add(new Property(getter(accessor),
+                    setter(mutator),
+                    inclusion,
+                    strategy(sourceType, targetType),
+                    targetType,
+                    targetType.isPrimitive() ? ClassUtil.defaultValue(targetType.getRawClass()) : null,
+                    provider,
+                    // as the mapper, the serializer of other types is the one of each value
+                    inclusion == JsonInclude.Include.NON_EMPTY && sourceType.isFinal()
+                            ? provider.findValueSerializer(sourceType)
+                            : null));
+        }
+
+        return properties.toArray(new Property[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(ObjectMapper mapper, Class<?> target) throws Throwable {
+        var deserialization = mapper.getDeserializationConfig();
+        var description = deserialization.introspect(deserialization.constructType(target));
+        var constructor = description.findDefaultConstructor();
+        if (constructor == null)
+            return null;
+
+        var lookup = lookup(target);
+        return (Supplier<Object>) LambdaMetafactory.metafactory(lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        lookup.unreflectConstructor((Constructor<?>) constructor.getAnnotated()),
+                        MethodType.methodType(target))
+                .getTarget()
+                .invokeExact();
+    }
+
+    /**
+     * Spins a class that calls the getter directly, so the call inlines like a plain method call; fields are read
+     * reflectively, which is already intrinsified.
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(AnnotatedMember accessor) throws Throwable {
+        if (accessor instanceof AnnotatedField annotated) {
+            var field = (Field) annotated.getMember();
+            return bean -> {
+                try {
+                    return field.get(bean);
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+
+        var method = (Method) accessor.getMember();
+        var lookup = lookup(method.getDeclaringClass());
+        return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        lookup.unreflect(method),
+                        MethodType.methodType(box(method.getReturnType()), method.getDeclaringClass()))
+                .getTarget()
+                .invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(AnnotatedMember mutator) throws Throwable {
+        if (mutator instanceof AnnotatedField annotated) {
+            var field = (Field) annotated.getMember();
+            return (bean, value) -> {
+                try {
+                    field.set(bean, value);
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+
+        // fluent setters return the bean itself, which is discarded
+        var method = (Method) mutator.getMember();
+        var lookup = lookup(method.getDeclaringClass());
+        return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        lookup.unreflect(method),
+                        MethodType.methodType(void.class,
+                                method.getDeclaringClass(),
+                                box(method.getParameterTypes()[0])))
+                .getTarget()
+                .invokeExact();
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        // the generated classes are nestmates of the bean, so they reach non-public members too
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    private static Strategy strategy(JavaType sourceType, JavaType targetType) {
+        var sourceClass = sourceType.getRawClass();
+        var targetClass = targetType.getRawClass();
+        if (isValue(targetClass))
+            return box(sourceClass) == box(targetClass)
+                    ? Strategy.DIRECT
+                    : Strategy.CONVERT;
+        if (isBean(targetClass) && !Modifier.isAbstract(targetClass.getModifiers()))
+            return Strategy.BEAN;
+
+        // the collection types the mapper would create for these declarations
+        if (targetClass != List.class && targetClass != Collection.class && targetClass != ArrayList.class ||
+                !Collection.class.isAssignableFrom(sourceClass))
+            return Strategy.CONVERT;
+
+        var sourceContent = sourceType.getContentType().getRawClass();
+        var targetContent = targetType.getContentType().getRawClass();
+        if (isValue(targetContent))
+            return sourceContent == targetContent
+                    ? Strategy.VALUES
+                    : Strategy.CONVERT;
+
+        return isBean(targetContent) && !Modifier.isAbstract(targetContent.getModifiers())
+                ? Strategy.BEANS
+                : Strategy.CONVERT;
+    }
+
+    private static BeanPropertyDefinition findProperty(BeanDescription description, String name) {
+        for (var property : description.findProperties())
+            if (property.getName().equals(name))
+                return property;
+        return null;
+    }
+
+    private static boolean isBean(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface() &&
+                type != Object.class && !isValue(type) && !type.getName().startsWith("java.") &&
+                !Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type) &&
+                !TreeNode.class.isAssignableFrom(type) && !JsonSerializable.class.isAssignableFrom(type);
+    }
+
+    private static boolean isValue(Class<?> type) {
+        return type.isPrimitive() || ClassUtil.primitiveType(type) != null || Enum.class.isAssignableFrom(type) ||
+                VALUE_TYPES.contains(type) || "java.time".equals(type.getPackageName());
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive()
+                ? ClassUtil.wrapperType(type)
+                : type;
+    }
+
+    private static boolean isCustomized(BeanDescription description) {
+        var info = description.getClassInfo();
+        if (description.findJsonValueAccessor() != null || description.findAnyGetter() != null ||
+                isCustomized(info))
+            return true;
+
+        for (var constructor : info.getConstructors())
+            if (constructor.hasAnnotation(JsonCreator.class))
+                return true;
+        for (var factory : info.getFactoryMethods())
+            if (factory.hasAnnotation(JsonCreator.class))
+                return true;
+
+        return false;
+    }
+
+    private static boolean isCustomized(BeanPropertyDefinition property) {
+        return isCustomized(property.getGetter()) || isCustomized(property.getSetter()) ||
+                isCustomized(property.getField());
+    }
+
+    private static boolean isCustomized(Annotated annotated) {
+        if (annotated == null)
+            return false;
+
+        for (var annotation : CUSTOMIZATIONS)
+            if (annotated.hasAnnotation(annotation))
+                return true;
+        return false;
+    }
+
+    /**
+     * How the value of a property reaches the target.
+     */
+    private enum Strategy {
+
+        // immutable value of the same type, copied as it is
+        DIRECT,
+        // nested bean, converted by the converter of its pair
+        BEAN,
+        // list of immutable values, copied into a new list
+        VALUES,
+        // list of nested beans, converted one by one into a new list
+        BEANS,
+        // anything else, converted by the mapper
+        CONVERT
+
+    }
+
+    /**
+     * A bean being converted and the beans above it.
+     */
+    private record Path(Object value, Path parent) {
+    }
+
+    /**
+     * Compiled copy of a single property.
+     */
+    private static final class Property {
+
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final JsonInclude.Include inclusion;
+        private final Strategy strategy;
+        private final JavaType type;
+        private final Object nullValue;
+        private final SerializerProvider provider;
+        // decides NON_EMPTY as the mapper does, null when resolved for each value
+        private final JsonSerializer<Object> serializer;
+
+        Property(Function<Object, Object> getter,
+                 BiConsumer<Object, Object> setter,
+                 JsonInclude.Include inclusion,
+                 Strategy strategy,
+                 JavaType type,
+                 Object nullValue,
+                 SerializerProvider provider,
+                 JsonSerializer<Object> serializer) {
+            this.getter = getter;
+            this.setter = setter;
+            this.inclusion = inclusion;
+            this.strategy = strategy;
+            this.type = type;
+            this.nullValue = nullValue;
+            this.provider = provider;
+            this.serializer = serializer;
+        }
+
+        void copy(ObjectMapper mapper, Object source, Object target, Path path) {
+            var value = getter.apply(source);
+            if (!isIncluded(value))
+                return;
+
+            setter.accept(target, value == null
+                    ? nullValue
+                    : convert(mapper, source, value, path));
+        }
+
+        private Object convert(ObjectMapper mapper, Object source, Object value, Path path) {
+            return switch (strategy) {
+                case DIRECT -> value;
+                case BEAN -> convertBean(value, type.getRawClass(), new Path(source, path));
+                case VALUES -> new ArrayList<>((Collection<?>) value);
+                case BEANS -> {
+                    var elements = (Collection<?>) value;
+                    var content = type.getContentType().getRawClass();
+                    var parent = new Path(source, path);
+                    var result = new ArrayList<>(elements.size());
+                    for (var element : elements)
+                        result.add(element == null ? null : convertBean(element, content, parent));
+                    yield result;
+                }
+                case CONVERT -> mapper.convertValue(value, type);
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object convertBean(Object value, Class<?> target, Path path) {
+            return JsonSerdes.converter((Class<Object>) value.getClass(), target).convert(value, path);
+        }
+
+        private boolean isIncluded(Object value) {
+            return switch (inclusion) {
+                case NON_NULL -> value != null;
+                case NON_ABSENT -> value != null && !(value instanceof Optional<?> optional && optional.isEmpty());
+                case NON_EMPTY -> value != null && !isEmpty(value);
+                default -> true;
+            };
+        }
+
+        private boolean isEmpty(Object value) {
+            try {
+                var emptiness = serializer != null
+                        ? serializer
+                        : provider.findValueSerializer(value.getClass());
+                return emptiness.isEmpty(provider, value);
+            } catch (JsonMappingException ex) {
+                throw new IllegalArgumentException(ex.getMessage(), ex);
+            }
+        }
+
+    }
+
+}
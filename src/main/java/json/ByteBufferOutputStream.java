@@ -0,0 +1,71 @@
+package json;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Output stream that writes into a chain of buffers of a {@link ByteBufferPool}, taking another one when the current
+ * one is full, so the content is never copied nor held outside of the pool. Intended to internal usage only.
+ */
+final class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBufferPool pool;
+    private ByteBuffer[] buffers = new ByteBuffer[4];
+    private int count;
+    private ByteBuffer current;
+
+    ByteBufferOutputStream(ByteBufferPool pool) {
+        this.pool = pool;
+        next();
+    }
+
+    @Override
+    public void write(int b) {
+        if (!current.hasRemaining())
+            next();
+        current.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (!current.hasRemaining())
+                next();
+
+            var chunk = Math.min(len, current.remaining());
+            current.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    /**
+     * Hands the written content over to a {@link PooledByteBuffer}. The stream must not be used afterwards.
+     *
+     * @return The content, ready to be read.
+     */
+    PooledByteBuffer toPooledBuffer() {
+        for (var i = 0; i < count; i++)
+            buffers[i].flip();
+
+        return new PooledByteBuffer(pool, Arrays.copyOf(buffers, count));
+    }
+
+    /**
+     * Gives the buffers back to the pool, discarding the written content.
+     */
+    void discard() {
+        for (var i = 0; i < count; i++)
+            pool.release(buffers[i]);
+        count = 0;
+    }
+
+    private void next() {
+        current = pool.acquire();
+        if (count == buffers.length)
+            buffers = Arrays.copyOf(buffers, count << 1);
+        buffers[count++] = current;
+    }
+
+}
@@ -0,0 +1,72 @@
+package json;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of equally sized {@link ByteBuffer}s, heap or direct.
+ * <p>
+ * At most {@code maxPooled} buffers are retained, so the memory kept by the pool never exceeds
+ * {@code bufferSize * maxPooled}. Payloads larger than a buffer are written into a chain of them, see
+ * {@link PooledByteBuffer#buffers()}.
+ */
+public final class ByteBufferPool {
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final ArrayBlockingQueue<ByteBuffer> buffers;
+
+    /**
+     * Creates a pool.
+     *
+     * @param bufferSize The capacity of the pooled buffers.
+     * @param maxPooled  The maximum number of idle buffers retained.
+     * @param direct     Flag to specified if the buffers are allocated outside of the heap.
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled, boolean direct) {
+        if (bufferSize < 1 || maxPooled < 1)
+            throw new IllegalArgumentException("bufferSize and maxPooled must be positive");
+
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Takes an empty buffer from the pool, allocating one when the pool is empty.
+     *
+     * @return A cleared buffer of {@link #bufferSize()} capacity.
+     */
+    public ByteBuffer acquire() {
+        var buffer = buffers.poll();
+
+        return buffer != null
+                ? buffer.clear()
+                : allocate(bufferSize);
+    }
+
+    /**
+     * Gives a buffer back. Buffers that do not match the pool, or exceed its bound, are dropped.
+     *
+     * @param buffer The buffer to be recycled. It must not be used afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && buffer.isDirect() == direct)
+            buffers.offer(buffer);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct
+                ? ByteBuffer.allocateDirect(capacity)
+                : ByteBuffer.allocate(capacity);
+    }
+
+}
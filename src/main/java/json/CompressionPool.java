@@ -0,0 +1,98 @@
+package json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of {@link Deflater}s of a given compression level and of {@link Inflater}s, with the <i>gzip</i>
+ * streams that use them.
+ * <p>
+ * The JDK gzip streams allocate a new deflater or inflater, and its native memory, per stream, released only when
+ * the stream is closed or collected. The streams of this pool take one from the pool instead and give it back, reset,
+ * when closed. At most {@code maxPooled} idle instances of each kind are retained; the surplus is ended on release.
+ */
+public final class CompressionPool {
+
+    private final int level;
+    private final ArrayBlockingQueue<Deflater> deflaters;
+    private final ArrayBlockingQueue<Inflater> inflaters;
+
+    /**
+     * Creates a pool.
+     *
+     * @param level     The compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION},
+     *                  or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param maxPooled The maximum number of idle deflaters, and of idle inflaters, retained.
+     */
+    public CompressionPool(int level, int maxPooled) {
+        if ((level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) && level != Deflater.DEFAULT_COMPRESSION)
+            throw new IllegalArgumentException("level must be between 1 and 9, or -1 for the default level");
+        if (maxPooled < 1)
+            throw new IllegalArgumentException("maxPooled must be positive");
+
+        this.level = level;
+        this.deflaters = new ArrayBlockingQueue<>(maxPooled);
+        this.inflaters = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public int level() {
+        return level;
+    }
+
+    /**
+     * Opens a <i>gzip</i> stream over the given output. Closing the stream finishes the compressed content and flushes
+     * the output, but does not close it.
+     *
+     * @param out The destination of the compressed content.
+     * @return The stream that receives the uncompressed content.
+     * @throws IOException If the gzip header cannot be written.
+     */
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new GzipOutputStream(out, this);
+    }
+
+    /**
+     * Opens a <i>gzip</i> stream over the given input. Only the first member of a multi-member content is read.
+     * Closing the stream closes the input.
+     *
+     * @param in The compressed content.
+     * @return The stream of the uncompressed content.
+     * @throws IOException If the gzip header is missing or malformed.
+     */
+    public InputStream decompress(InputStream in) throws IOException {
+        return new GzipInputStream(in, this);
+    }
+
+    Deflater acquireDeflater() {
+        var deflater = deflaters.poll();
+
+        return deflater != null
+                ? deflater
+                : new Deflater(level, true);
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater))
+            deflater.end();
+    }
+
+    Inflater acquireInflater() {
+        var inflater = inflaters.poll();
+
+        return inflater != null
+                ? inflater
+                : new Inflater(true);
+    }
+
+    void release(Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater))
+            inflater.end();
+    }
+
+}
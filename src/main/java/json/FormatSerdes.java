@@ -0,0 +1,113 @@
+package json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Serialization operations of {@link JsonSerdes} bound to a single {@link SerdeFormat}. Instances are obtained with
+ * {@link JsonSerdes#format(SerdeFormat)}, are thread-safe and handle errors like {@link JsonSerdes}.
+ */
+public final class FormatSerdes {
+
+    private static final Logger log = getLogger(FormatSerdes.class);
+
+    private final SerdeFormat format;
+    private final ObjectMapper mapper;
+    private final ObjectWriter directWriter;
+
+    FormatSerdes(SerdeFormat format, ObjectMapper mapper) {
+        this.format = format;
+        this.mapper = mapper;
+        this.directWriter = mapper.writer().without(AUTO_CLOSE_TARGET);
+    }
+
+    public SerdeFormat format() {
+        return format;
+    }
+
+    /**
+     * Retrieves the mapper of the format.
+     *
+     * @return The configured mapper that is used in the format operations.
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Serializes the given object.
+     *
+     * @param obj The object to be serialized.
+     * @return The encoded object, an empty array in case of face an unexpected error.
+     */
+    public byte @NotNull [] serialize(Object obj) {
+        try {
+            return mapper.writeValueAsBytes(obj);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to serialize an object as {}", format, ex);
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Serializes the given object straight into the given output. The output is flushed but not closed.
+     *
+     * @param obj The object to be serialized.
+     * @param out The destination of the encoded object.
+     * @return <b>true</b> if the object was written, <b>false</b> in case of face an unexpected error.
+     */
+    public boolean serialize(Object obj, OutputStream out) {
+        try {
+            directWriter.writeValue(out, obj);
+            return true;
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to write an object as {}", format, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Deserializes the given content into an object whose type is also specified.
+     *
+     * @param content The encoded content.
+     * @param clazz   The class type of the desired object result.
+     * @return The result of the deserialization operation, <b>null</b> in case of face an unexpected error.
+     */
+    public <T> @Nullable T parse(byte[] content, Class<T> clazz) {
+        try {
+            return mapper.readValue(content, clazz);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from {}", format, ex);
+            return null;
+        }
+    }
+
+    public <T> @Nullable T parse(byte[] content, TypeReference<T> type) {
+        try {
+            return mapper.readValue(content, type);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from {}", format, ex);
+            return null;
+        }
+    }
+
+    public <T> @Nullable T parse(InputStream in, Class<T> clazz) {
+        try {
+            return mapper.readValue(in, clazz);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from {}", format, ex);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package json;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * <i>Gzip</i> (RFC 1952) input stream over a pooled inflater, see {@link CompressionPool#decompress(InputStream)}.
+ * Intended to internal usage only.
+ */
+final class GzipInputStream extends InflaterInputStream {
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final CompressionPool pool;
+    private final CRC32 crc = new CRC32();
+    private boolean ended;
+    private boolean closed;
+
+    GzipInputStream(InputStream in, CompressionPool pool) throws IOException {
+        super(in, pool.acquireInflater(), GzipOutputStream.BUFFER_SIZE);
+        this.pool = pool;
+        try {
+            readHeader();
+        } catch (IOException ex) {
+            closed = true;
+            pool.release(inf);
+            throw ex;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (ended)
+            return -1;
+
+        var read = super.read(b, off, len);
+        if (read == -1) {
+            readTrailer();
+            ended = true;
+        } else {
+            crc.update(b, off, read);
+        }
+
+        return read;
+    }
+
+    /**
+     * Gives the inflater back and closes the underlying input.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            pool.release(inf);
+        }
+    }
+
+    //-- Support methods
+
+    private void readHeader() throws IOException {
+        if (readUnsignedShort() != 0x8b1f)
+            throw new ZipException("Not in GZIP format");
+        if (readUnsignedByte() != 8)
+            throw new ZipException("Unsupported compression method");
+
+        var flags = readUnsignedByte();
+        // modification time, extra flags and operating system
+        skip(6);
+        if ((flags & FEXTRA) != 0)
+            skip(readUnsignedShort());
+        if ((flags & FNAME) != 0)
+            skipString();
+        if ((flags & FCOMMENT) != 0)
+            skipString();
+        if ((flags & FHCRC) != 0)
+            skip(2);
+    }
+
+    private void readTrailer() throws IOException {
+        // the inflater may have been given more than the compressed content, the trailer starts in its leftover
+        var trailer = new byte[8];
+        var leftover = Math.min(inf.getRemaining(), trailer.length);
+        System.arraycopy(buf, len - inf.getRemaining(), trailer, 0, leftover);
+        for (var i = leftover; i < trailer.length; i++)
+            trailer[i] = (byte) readUnsignedByte();
+
+        if (readInt(trailer, 0) != (int) crc.getValue())
+            throw new ZipException("Corrupt GZIP trailer");
+        if (readInt(trailer, 4) != (int) inf.getBytesWritten())
+            throw new ZipException("Corrupt GZIP trailer");
+    }
+
+    private int readUnsignedByte() throws IOException {
+        var b = in.read();
+        if (b == -1)
+            throw new EOFException("Unexpected end of GZIP content");
+        return b;
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | readUnsignedByte() << 8;
+    }
+
+    private void skip(int count) throws IOException {
+        for (var i = 0; i < count; i++)
+            readUnsignedByte();
+    }
+
+    private void skipString() throws IOException {
+        var b = readUnsignedByte();
+        while (b != 0)
+            b = readUnsignedByte();
+    }
+
+    private static int readInt(byte[] source, int offset) {
+        return source[offset] & 0xff | (source[offset + 1] & 0xff) << 8 | (source[offset + 2] & 0xff) << 16 |
+                (source[offset + 3] & 0xff) << 24;
+    }
+
+}
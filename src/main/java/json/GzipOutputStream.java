@@ -0,0 +1,89 @@
+package json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <i>Gzip</i> (RFC 1952) output stream over a pooled deflater, see {@link CompressionPool#compress(OutputStream)}.
+ * Intended to internal usage only.
+ */
+final class GzipOutputStream extends DeflaterOutputStream {
+
+    static final int BUFFER_SIZE = 8 * 1024;
+    // magic number, deflate method, no flags, no modification time, no extra flags, unknown OS
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CompressionPool pool;
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+    private boolean closed;
+
+    GzipOutputStream(OutputStream out, CompressionPool pool) throws IOException {
+        super(out, pool.acquireDeflater(), BUFFER_SIZE);
+        this.pool = pool;
+        try {
+            out.write(HEADER);
+        } catch (IOException ex) {
+            closed = true;
+            pool.release(def);
+            def = null;
+            throw ex;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished)
+            return;
+        ensureOpen();
+
+        super.finish();
+        var trailer = new byte[8];
+        writeInt(trailer, 0, (int) crc.getValue());
+        writeInt(trailer, 4, (int) def.getBytesRead());
+        out.write(trailer);
+        finished = true;
+    }
+
+    /**
+     * Finishes the content and gives the deflater back, leaving the underlying output open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+
+        try {
+            finish();
+            out.flush();
+        } finally {
+            closed = true;
+            pool.release(def);
+            // the deflater may already belong to another stream
+            def = null;
+        }
+    }
+
+    // the deflater of a closed stream is back in the pool
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >> 8);
+        target[offset + 2] = (byte) (value >> 16);
+        target[offset + 3] = (byte) (value >> 24);
+    }
+
+}
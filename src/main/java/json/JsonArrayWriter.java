@@ -0,0 +1,214 @@
+package json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * Writes arrays of strings and primitives as <i>JSON arrays</i> in a single pass, without going through the object
+ * mapper.
+ * <p>
+ * Quoted strings are escaped as required by RFC 8259 (quotation mark, reverse solidus and control characters); a
+ * string that needs no escaping is appended at once. <b>null</b> elements are written as the {@code null} literal.
+ * Unquoted strings are written as they are, so they must already be valid json values (numbers, booleans, objects).
+ */
+public final class JsonArrayWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // typical identifiers and counters, not the worst case; the builder grows past it
+    private static final int NUMBER_LENGTH = 8;
+    // the largest array most virtual machines allocate
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private JsonArrayWriter() {
+    }
+
+    //-- String Operations
+
+    /**
+     * Transform the given array to a json formatted string.
+     *
+     * @param array         The array to be convert.
+     * @param includeQuotes Flag to specified if the elements are written as (escaped) json strings or as they are.
+     * @return A string that represents the specified array in json format.
+     */
+    public static String write(String[] array, boolean includeQuotes) {
+        var length = 2L + array.length * (includeQuotes ? 3L : 1L);
+        for (var element : array)
+            length += element != null ? element.length() : 4;
+
+        return append(new StringBuilder(capacity(length)), array, includeQuotes).toString();
+    }
+
+    public static String write(Collection<String> elements, boolean includeQuotes) {
+        var length = 2L + elements.size() * (includeQuotes ? 3L : 1L);
+        for (var element : elements)
+            length += element != null ? element.length() : 4;
+
+        return append(new StringBuilder(capacity(length)), elements, includeQuotes).toString();
+    }
+
+    public static String write(long[] array) {
+        return append(new StringBuilder(capacity(2L + array.length * (long) NUMBER_LENGTH)), array).toString();
+    }
+
+    public static String write(int[] array) {
+        return append(new StringBuilder(capacity(2L + array.length * (long) NUMBER_LENGTH)), array).toString();
+    }
+
+    //-- StringBuilder Operations
+
+    /**
+     * Appends the given array in json format to an existing builder.
+     *
+     * @param builder       The destination builder.
+     * @param array         The array to be convert.
+     * @param includeQuotes Flag to specified if the elements are written as (escaped) json strings or as they are.
+     * @return The given builder.
+     */
+    public static StringBuilder append(StringBuilder builder, String[] array, boolean includeQuotes) {
+        builder.append('[');
+        for (var i = 0; i < array.length; i++) {
+            if (i != 0)
+                builder.append(',');
+            appendElement(builder, array[i], includeQuotes);
+        }
+
+        return builder.append(']');
+    }
+
+    public static StringBuilder append(StringBuilder builder, Collection<String> elements, boolean includeQuotes) {
+        builder.append('[');
+        var first = true;
+        for (var element : elements) {
+            if (!first)
+                builder.append(',');
+            appendElement(builder, element, includeQuotes);
+            first = false;
+        }
+
+        return builder.append(']');
+    }
+
+    public static StringBuilder append(StringBuilder builder, long[] array) {
+        builder.append('[');
+        for (var i = 0; i < array.length; i++) {
+            if (i != 0)
+                builder.append(',');
+            builder.append(array[i]);
+        }
+
+        return builder.append(']');
+    }
+
+    public static StringBuilder append(StringBuilder builder, int[] array) {
+        builder.append('[');
+        for (var i = 0; i < array.length; i++) {
+            if (i != 0)
+                builder.append(',');
+            builder.append(array[i]);
+        }
+
+        return builder.append(']');
+    }
+
+    //-- Appendable Operations
+
+    /**
+     * Appends the given array in json format to any character destination, such as a {@link java.io.Writer}.
+     *
+     * @param out           The destination.
+     * @param array         The array to be convert.
+     * @param includeQuotes Flag to specified if the elements are written as (escaped) json strings or as they are.
+     * @return The given destination.
+     * @throws IOException If the destination fails.
+     */
+    public static <A extends Appendable> A append(A out, String[] array, boolean includeQuotes) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            append(builder, array, includeQuotes);
+            return out;
+        }
+
+        out.append('[');
+        for (var i = 0; i < array.length; i++) {
+            if (i != 0)
+                out.append(',');
+            appendElement(out, array[i], includeQuotes);
+        }
+        out.append(']');
+
+        return out;
+    }
+
+    public static <A extends Appendable> A append(A out, Collection<String> elements, boolean includeQuotes)
+            throws IOException {
+        if (out instanceof StringBuilder builder) {
+            append(builder, elements, includeQuotes);
+            return out;
+        }
+
+        out.append('[');
+        var first = true;
+        for (var element : elements) {
+            if (!first)
+                out.append(',');
+            appendElement(out, element, includeQuotes);
+            first = false;
+        }
+        out.append(']');
+
+        return out;
+    }
+
+    //-- Support methods
+
+    // an initial capacity the builder can allocate, which may still be exceeded by the content
+    private static int capacity(long estimate) {
+        return (int) Math.min(estimate, MAX_CAPACITY);
+    }
+
+    private static void appendElement(StringBuilder builder, String element, boolean includeQuotes) {
+        try {
+            appendElement((Appendable) builder, element, includeQuotes);
+        } catch (IOException ex) {
+            // a StringBuilder never fails
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void appendElement(Appendable out, String element, boolean includeQuotes) throws IOException {
+        if (element == null) {
+            out.append("null");
+            return;
+        }
+        if (!includeQuotes) {
+            out.append(element);
+            return;
+        }
+
+        out.append('"');
+        var start = 0;
+        var length = element.length();
+        for (var i = 0; i < length; i++) {
+            var c = element.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\')
+                continue;
+
+            // flush the run of plain characters before the escape
+            out.append(element, start, i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        out.append(element, start, length).append('"');
+    }
+
+}
@@ -0,0 +1,211 @@
+package json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Incremental parser of a <i>JSON array</i> that receives its content in chunks, as they arrive from the network, and
+ * hands every element to a consumer as soon as the element is complete.
+ * <p>
+ * It runs on the non-blocking parser of Jackson, so feeding never waits for more input: the tokens of the chunk are
+ * read, the ones of the element in progress are kept in a token buffer and the buffer is bound once the element
+ * closes. Memory is then bounded by the largest element instead of the whole body. A root value that is not an array
+ * is handed as a single element, and a sequence of root-level values is also accepted.
+ * <p>
+ * Instances are obtained through {@link JsonSerdes#incremental(Class, Consumer)} and are not thread-safe: the chunks of
+ * a body must be fed in order, by one thread at a time. Malformed content does not throw; the parser stops, every
+ * following call returns <b>false</b> and {@link #failure()} tells why.
+ *
+ * @param <T> The type of the elements.
+ */
+public final class JsonChunkParser<T> implements AutoCloseable {
+
+    private static final Logger log = getLogger(JsonChunkParser.class);
+
+    private final ObjectReader reader;
+    private final Consumer<? super T> consumer;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    // the element in progress, null between elements
+    private TokenBuffer element;
+    private int depth;
+    private boolean inArray;
+    private boolean started;
+    private boolean empty = true;
+    private boolean ended;
+    private long count;
+    private ParseFailure failure;
+
+    JsonChunkParser(ObjectMapper mapper, ObjectReader reader, Consumer<? super T> consumer) throws IOException {
+        this.reader = reader;
+        this.consumer = consumer;
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next chunk of content and hands out the elements it completes. The chunk is fully read before
+     * returning, so its array may be reused afterwards.
+     *
+     * @param chunk The next bytes of the content.
+     * @return <b>true</b> if the chunk was accepted, <b>false</b> if the content is malformed or already ended.
+     */
+    public boolean feed(byte[] chunk) {
+        return feed(chunk, 0, chunk.length);
+    }
+
+    public boolean feed(byte[] chunk, int offset, int length) {
+        if (failure != null || ended)
+            return false;
+        if (length == 0)
+            return true;
+
+        try {
+            feeder.feedInput(chunk, offset, offset + length);
+            drain();
+            return true;
+        } catch (Exception ex) {
+            return fail(ex);
+        }
+    }
+
+    /**
+     * Signals the end of the content and hands out the last element, if it was waiting for the end.
+     *
+     * @return <b>true</b> if the content was complete and valid, <b>false</b> otherwise.
+     */
+    public boolean end() {
+        if (failure != null)
+            return false;
+        if (ended)
+            return true;
+
+        ended = true;
+        try {
+            feeder.endOfInput();
+            drain();
+        } catch (Exception ex) {
+            return fail(ex);
+        }
+
+        if (empty) {
+            failure = ParseFailure.EMPTY;
+            return false;
+        }
+        if (element != null || inArray) {
+            var location = parser.getCurrentLocation();
+            failure = new ParseFailure("Unexpected end of the content",
+                    null,
+                    location.getLineNr(),
+                    location.getColumnNr(),
+                    location.getByteOffset());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of elements handed out so far.
+     *
+     * @return {@link Long}
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets why the parser stopped.
+     *
+     * @return The failure, <b>null</b> while the content is valid.
+     */
+    public @Nullable ParseFailure failure() {
+        return failure;
+    }
+
+    @Override
+    public void close() {
+        element = null;
+        try {
+            parser.close();
+        } catch (IOException ex) {
+            log.trace("Error detected when trying to close an incremental JSON parser", ex);
+        }
+    }
+
+    //-- Support methods
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            empty = false;
+            if (element == null) {
+                if (!started) {
+                    started = true;
+                    if (token == JsonToken.START_ARRAY) {
+                        inArray = true;
+                        continue;
+                    }
+                } else if (inArray && token == JsonToken.END_ARRAY) {
+                    // the next root value starts over
+                    inArray = false;
+                    started = false;
+                    continue;
+                }
+                element = new TokenBuffer(parser);
+            }
+
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart())
+                depth++;
+            else if (token.isStructEnd())
+                depth--;
+
+            if (depth == 0)
+                emit();
+        }
+    }
+
+    private void emit() throws IOException {
+        T value;
+        try (var buffered = element.asParser()) {
+            value = reader.readValue(buffered);
+        }
+        element = null;
+        if (!inArray)
+            started = false;
+
+        count++;
+        consumer.accept(value);
+    }
+
+    private boolean fail(Exception ex) {
+        log.trace("Error detected when trying to parse a JSON chunk", ex);
+        var cause = ParseFailure.of(ex);
+        if (cause.line() < 0) {
+            // binding errors are located in the token buffer, the end of the element is the closest position
+            var location = parser.getCurrentLocation();
+            cause = new ParseFailure(cause.reason(),
+                    cause.path(),
+                    location.getLineNr(),
+                    location.getColumnNr(),
+                    location.getByteOffset());
+        }
+        failure = cause;
+        element = null;
+
+        return false;
+    }
+
+}
@@ -0,0 +1,193 @@
+package json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Typed handle for the serialization of a single type with the {@link JsonSerdes} configuration.
+ * <p>
+ * The reader and the writer are built once, with their root (de)serializers already resolved, so calls skip the type
+ * resolution done by the generic {@link ObjectMapper} methods. Instances are immutable, thread-safe and shared
+ * through {@link JsonSerdes#codec(Class)}; errors are handled like in {@link JsonSerdes}.
+ *
+ * @param <T> The type handled by the codec.
+ */
+public final class JsonCodec<T> {
+
+    private static final Logger log = getLogger(JsonCodec.class);
+
+    private final JavaType type;
+    private final ObjectReader reader;
+    // trailing content is malformed input for the result operations
+    private final ObjectReader strictReader;
+    private final ObjectWriter writer;
+    private final ObjectMapper mapper;
+
+    JsonCodec(ObjectMapper mapper, JavaType type) {
+        this.type = type;
+        this.reader = mapper.readerFor(type);
+        this.strictReader = reader.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.writer = mapper.writerFor(type);
+        this.mapper = mapper;
+    }
+
+    /**
+     * Retrieves the type handled by the codec.
+     *
+     * @return The resolved type.
+     */
+    public JavaType type() {
+        return type;
+    }
+
+    public ObjectReader reader() {
+        return reader;
+    }
+
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    // reads up to the end of the input, so streams checked at their end (gzip trailers) are checked
+    ObjectReader strictReader() {
+        return strictReader;
+    }
+
+    /**
+     * Deserializes the given <i>JSON formatted</i> string.
+     *
+     * @param content The <i>JSON formatted</i> string to be deserialized.
+     * @return The result of the deserialization operation, <b>null</b> in case of face an unexpected error.
+     */
+    public @Nullable T parse(String content) {
+        var metrics = JsonSerdes.metrics();
+        var instrumented = metrics != SerdeMetrics.NONE;
+        var start = instrumented ? System.nanoTime() : 0L;
+        try {
+            var value = reader.<T>readValue(content);
+            if (instrumented)
+                metrics.parsed(type, content != null ? content.length() : 0, System.nanoTime() - start, null);
+            return value;
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from JSON", ex);
+            if (instrumented)
+                metrics.parsed(type, content != null ? content.length() : 0, System.nanoTime() - start,
+                        ParseFailure.of(ex));
+            return null;
+        }
+    }
+
+    public @Nullable T parse(byte[] content) {
+        var metrics = JsonSerdes.metrics();
+        var instrumented = metrics != SerdeMetrics.NONE;
+        var start = instrumented ? System.nanoTime() : 0L;
+        try {
+            var value = reader.<T>readValue(content);
+            if (instrumented)
+                metrics.parsed(type, content != null ? content.length : 0, System.nanoTime() - start, null);
+            return value;
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from JSON", ex);
+            if (instrumented)
+                metrics.parsed(type, content != null ? content.length : 0, System.nanoTime() - start,
+                        ParseFailure.of(ex));
+            return null;
+        }
+    }
+
+    /**
+     * Deserializes the given <i>JSON formatted</i> string, reporting why it failed instead of logging it.
+     * <p>
+     * Content that cannot be json at all (empty, not starting like a json value or truncated) is rejected before
+     * running the parser, so no exception is thrown for it; content followed by anything but whitespace fails.
+     *
+     * @param content The <i>JSON formatted</i> string to be deserialized.
+     * @return The value or the failure with its location.
+     */
+    public @NotNull ParseResult<T> tryParse(String content) {
+        var metrics = JsonSerdes.metrics();
+        var instrumented = metrics != SerdeMetrics.NONE;
+        var start = instrumented ? System.nanoTime() : 0L;
+
+        ParseResult<T> result;
+        var failure = content != null ? ParseFailure.check(content) : ParseFailure.EMPTY;
+        if (failure != null) {
+            result = ParseResult.failed(failure);
+        } else {
+            try {
+                result = ParseResult.success(strictReader.readValue(content));
+            } catch (Exception ex) {
+                result = ParseResult.failed(ParseFailure.of(ex));
+            }
+        }
+
+        if (instrumented)
+            metrics.parsed(type, content != null ? content.length() : 0, System.nanoTime() - start, result.failure());
+        return result;
+    }
+
+    public @NotNull ParseResult<T> tryParse(byte[] content) {
+        var metrics = JsonSerdes.metrics();
+        var instrumented = metrics != SerdeMetrics.NONE;
+        var start = instrumented ? System.nanoTime() : 0L;
+
+        ParseResult<T> result;
+        var failure = content != null ? ParseFailure.check(content) : ParseFailure.EMPTY;
+        if (failure != null) {
+            result = ParseResult.failed(failure);
+        } else {
+            try {
+                result = ParseResult.success(strictReader.readValue(content));
+            } catch (Exception ex) {
+                result = ParseResult.failed(ParseFailure.of(ex));
+            }
+        }
+
+        if (instrumented)
+            metrics.parsed(type, content != null ? content.length : 0, System.nanoTime() - start, result.failure());
+        return result;
+    }
+
+    /**
+     * Serializes the given object to <i>JSON formatted</i> string.
+     *
+     * @param obj The object to be serialized.
+     * @return The json representation of the specified object, <b>null</b> in case of face an unexpected error.
+     */
+    public @Nullable String jsonfy(T obj) {
+        try {
+            return writer.writeValueAsString(obj);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to covert an object to JSON", ex);
+            return null;
+        }
+    }
+
+    public byte @NotNull [] jsonfyAsBytes(T obj) {
+        try {
+            return writer.writeValueAsBytes(obj);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to covert an object to JSON (as bytes)", ex);
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Converts the given object to the type of the codec.
+     *
+     * @param obj The object to be converted.
+     * @return The converted object, <b>null</b> if the given object is <b>null</b>.
+     */
+    public T convert(Object obj) {
+        return mapper.convertValue(obj, type);
+    }
+
+}
@@ -0,0 +1,258 @@
+package json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Pulls a fixed set of values, addressed by <i>JSON Pointer</i> (RFC 6901), out of a json document in a single
+ * streaming pass.
+ * <p>
+ * The pointers are compiled once into a tree of path segments. While reading, subtrees that no pointer goes through
+ * are skipped at the token level, without building nodes, only the addressed values are materialized, and the read
+ * stops as soon as every pointer was either found or proven missing. Instances are immutable, thread-safe and meant to
+ * be kept in constants; they are obtained through {@link JsonSerdes#extractor(String...)}. Errors are handled like in
+ * {@link JsonSerdes}.
+ * <p>
+ * Values are returned in the order of the pointers: a missing value is <b>null</b> and a json {@code null} is a
+ * {@link com.fasterxml.jackson.databind.node.NullNode}. When the document has duplicated keys the first one wins.
+ */
+public final class JsonExtractor {
+
+    private static final Logger log = getLogger(JsonExtractor.class);
+
+    private final ObjectMapper mapper;
+    private final Segment root;
+    private final int size;
+
+    JsonExtractor(ObjectMapper mapper, JsonPointer... pointers) {
+        this.mapper = mapper;
+        this.root = new Segment(null, -1);
+        this.size = pointers.length;
+
+        for (var slot = 0; slot < pointers.length; slot++) {
+            var segment = root;
+            for (var pointer = pointers[slot]; !pointer.matches(); pointer = pointer.tail())
+                segment = segment.child(pointer.getMatchingProperty(), pointer.getMatchingIndex());
+            segment.addSlot(slot);
+        }
+        root.freeze();
+    }
+
+    /**
+     * Extracts the values from the given <i>JSON formatted</i> string.
+     *
+     * @param content The <i>JSON formatted</i> string.
+     * @return The value of each pointer, in the given order, <b>null</b> in case of face an unexpected error.
+     */
+    public JsonNode @Nullable [] extract(String content) {
+        try (var parser = mapper.createParser(content)) {
+            return extract(parser);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to extract values from JSON", ex);
+            return null;
+        }
+    }
+
+    public JsonNode @Nullable [] extract(byte[] content) {
+        try (var parser = mapper.createParser(content)) {
+            return extract(parser);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to extract values from JSON", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Extracts the values from the given stream, which is closed once the last value is found.
+     *
+     * @param in The stream of the <i>JSON formatted</i> content.
+     * @return The value of each pointer, in the given order, <b>null</b> in case of face an unexpected error.
+     */
+    public JsonNode @Nullable [] extract(InputStream in) {
+        try (var parser = mapper.createParser(in)) {
+            return extract(parser);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to extract values from JSON", ex);
+            return null;
+        }
+    }
+
+    //-- Support methods
+
+    private JsonNode[] extract(JsonParser parser) throws IOException {
+        var state = new State(size);
+        var token = parser.nextToken();
+        if (token != null)
+            visit(parser, root, token, state);
+
+        return state.values;
+    }
+
+    private static void visit(JsonParser parser, Segment segment, JsonToken token, State state) throws IOException {
+        if (segment.slots.length > 0) {
+            // the pointers below an addressed value are resolved from its tree, it was built anyway
+            state.fill(segment, parser.readValueAsTree());
+        } else if (token == JsonToken.START_OBJECT) {
+            object(parser, segment, state);
+        } else if (token == JsonToken.START_ARRAY) {
+            array(parser, segment, state);
+        } else {
+            state.fill(segment, null);
+        }
+    }
+
+    private static void object(JsonParser parser, Segment segment, State state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var child = segment.property(parser.getCurrentName());
+            var token = parser.nextToken();
+            if (child == null || state.resolved(child)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            visit(parser, child, token, state);
+            if (state.remaining == 0)
+                return;
+        }
+        state.fill(segment, null);
+    }
+
+    private static void array(JsonParser parser, Segment segment, State state) throws IOException {
+        JsonToken token;
+        for (var index = 0; (token = parser.nextToken()) != JsonToken.END_ARRAY; index++) {
+            var child = segment.element(index);
+            if (child == null) {
+                // nothing is addressed past the last index, whatever was not found is missing
+                if (index == segment.maxIndex + 1) {
+                    state.fill(segment, null);
+                    if (state.remaining == 0)
+                        return;
+                }
+                parser.skipChildren();
+                continue;
+            }
+
+            visit(parser, child, token, state);
+            if (state.remaining == 0)
+                return;
+        }
+        state.fill(segment, null);
+    }
+
+    /**
+     * Node of the compiled pointer tree.
+     */
+    private static final class Segment {
+
+        private static final int[] NO_SLOTS = new int[0];
+        private static final Segment[] NO_CHILDREN = new Segment[0];
+
+        private final String property;
+        private final int index;
+        private int[] slots = NO_SLOTS;
+        private Segment[] children = NO_CHILDREN;
+        private List<Segment> pending = new ArrayList<>();
+        private int maxIndex = -1;
+
+        Segment(String property, int index) {
+            this.property = property;
+            this.index = index;
+        }
+
+        Segment child(String property, int index) {
+            for (var child : pending)
+                if (child.property.equals(property))
+                    return child;
+
+            var child = new Segment(property, index);
+            pending.add(child);
+            maxIndex = Math.max(maxIndex, index);
+
+            return child;
+        }
+
+        void addSlot(int slot) {
+            slots = Arrays.copyOf(slots, slots.length + 1);
+            slots[slots.length - 1] = slot;
+        }
+
+        void freeze() {
+            children = pending.toArray(NO_CHILDREN);
+            pending = null;
+            for (var child : children)
+                child.freeze();
+        }
+
+        Segment property(String name) {
+            for (var child : children)
+                if (child.property.equals(name))
+                    return child;
+            return null;
+        }
+
+        Segment element(int index) {
+            for (var child : children)
+                if (child.index == index)
+                    return child;
+            return null;
+        }
+
+    }
+
+    /**
+     * Values and progress of a single extraction.
+     */
+    private static final class State {
+
+        private final JsonNode[] values;
+        private final boolean[] resolved;
+        private int remaining;
+
+        State(int size) {
+            this.values = new JsonNode[size];
+            this.resolved = new boolean[size];
+            this.remaining = size;
+        }
+
+        boolean resolved(Segment segment) {
+            if (segment.slots.length > 0)
+                return resolved[segment.slots[0]];
+            for (var child : segment.children)
+                if (!resolved(child))
+                    return false;
+            return true;
+        }
+
+        /**
+         * Resolves every pointer that goes through the given segment from its value, or as missing.
+         */
+        void fill(Segment segment, @Nullable JsonNode value) {
+            for (var slot : segment.slots) {
+                if (resolved[slot])
+                    continue;
+                resolved[slot] = true;
+                values[slot] = value;
+                remaining--;
+            }
+            for (var child : segment.children)
+                fill(child, value == null
+                        ? null
+                        : value.isArray() ? value.get(child.index) : value.get(child.property));
+        }
+
+    }
+
+}
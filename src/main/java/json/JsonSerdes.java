@@ -1,18 +1,46 @@
 package json;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
-import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
-import static java.lang.String.format;
-import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.joining;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
 import static org.slf4j.LoggerFactory.getLogger;
 import static util.MessageContextHolder.msg;
 
@@ -20,13 +48,36 @@ public class JsonSerdes {
 
     private static final Logger log = getLogger(JsonSerdes.class);
     private static final ObjectMapper MAPPER;
+    // flushing after every element would turn a streamed array into one small write per element
+    private static final ObjectWriter STREAMING_WRITER;
+    // writes into caller owned outputs, which must stay open
+    private static final ObjectWriter DIRECT_WRITER;
+    private static final CompressionPool COMPRESSION = new CompressionPool(Deflater.DEFAULT_COMPRESSION, 64);
+    private static final ByteBufferPool BUFFER_POOL = new ByteBufferPool(8 * 1024, 256, false);
+    // ClassValue does not pin the classes of reloaded contexts
+    private static final ClassValue<JsonCodec<?>> CLASS_CODECS = new ClassValue<>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return new JsonCodec<>(MAPPER, MAPPER.constructType(type));
+        }
+    };
+    // keyed by the java.lang.reflect.Type of a TypeReference or by JavaType
+    private static final Map<Object, JsonCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    // keyed by source class, then by target class
+    private static final ClassValue<Map<Class<?>, BeanConverter<?, ?>>> CONVERTERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, BeanConverter<?, ?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static volatile SerdeMetrics metrics = SerdeMetrics.NONE;
+    private static final Map<SerdeFormat, FormatSerdes> FORMATS = new ConcurrentHashMap<>();
 
     static {
-        MAPPER = Jackson2ObjectMapperBuilder.json()
-                .serializationInclusion(NON_EMPTY)
-                .featuresToDisable(WRITE_DATES_AS_TIMESTAMPS)
-                .modules(new JavaTimeModule())
-                .build();
+        MAPPER = newMapper(SerdeFormat.JSON);
+        STREAMING_WRITER = MAPPER.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        DIRECT_WRITER = MAPPER.writer().without(AUTO_CLOSE_TARGET);
     }
 
     //-- File Operations
@@ -41,16 +92,25 @@ public class JsonSerdes {
      * Transform the given array to a json formatted string.
      *
      * @param array         The array to be convert.
-     * @param includeQuotes Flag to specified in the quotes are desired or not for the individual elements.
+     * @param includeQuotes Flag to specified in the quotes are desired or not for the individual elements. Quoted
+     *                      elements are escaped.
      * @return A string that represents the specified array in json format.
+     * @see JsonArrayWriter
      */
     public static String jsonfy(String[] array, boolean includeQuotes) {
-        var stream = includeQuotes
-                ? stream(array)
-                .map(element -> format("\"%s\"", element))
-                : stream(array);
+        return JsonArrayWriter.write(array, includeQuotes);
+    }
+
+    public static String jsonfy(Collection<String> elements, boolean includeQuotes) {
+        return JsonArrayWriter.write(elements, includeQuotes);
+    }
+
+    public static String jsonfy(long[] array) {
+        return JsonArrayWriter.write(array);
+    }
 
-        return stream.collect(joining(",", "[", "]"));
+    public static String jsonfy(int[] array) {
+        return JsonArrayWriter.write(array);
     }
 
     /**
@@ -80,31 +140,88 @@ public class JsonSerdes {
     }
 
     /**
-     * Deserializes the given <i>JSON formatted</i> string into an object whose type is also specified.
+     * Serializes the given object straight into the given output, without an intermediate array. The output is
+     * flushed but not closed.
      *
-     * @param content The <i>JSON formatted</i> string to be deserialized.
-     * @param clazz   The class type of the desired object result.
-     * @return The result of the deserialization operation, hopefully with the given type, otherwise. <b>null</b> will
-     * be returned.
+     * @param obj The object to be serialized.
+     * @param out The destination of the json representation.
+     * @return <b>true</b> if the object was written, <b>false</b> in case of face an unexpected error.
      */
-    public static <T> @Nullable T parse(String content, Class<T> clazz) {
+    public static boolean jsonfy(Object obj, OutputStream out) {
         try {
-            return MAPPER.readValue(content, clazz);
+            DIRECT_WRITER.writeValue(out, obj);
+            return true;
         } catch (Exception ex) {
-            log.trace("Error detected when trying to parse an object from JSON", ex);
-            return null;
+            log.trace("Error detected when trying to write an object as JSON", ex);
+            return false;
         }
     }
 
-    public static <T> T parse(byte[] content, Class<T> clazz) {
+    /**
+     * Serializes the given object straight into the given channel, as it is generated. The channel must be in blocking
+     * mode and is not closed.
+     *
+     * @param obj     The object to be serialized.
+     * @param channel The destination of the json representation.
+     * @return <b>true</b> if the object was written, <b>false</b> in case of face an unexpected error.
+     */
+    public static boolean jsonfy(Object obj, WritableByteChannel channel) {
         try {
-            return MAPPER.readValue(content, clazz);
+            DIRECT_WRITER.writeValue(Channels.newOutputStream(channel), obj);
+            return true;
         } catch (Exception ex) {
-            log.trace("Error detected when trying to parse an object from JSON", ex);
+            log.trace("Error detected when trying to write an object as JSON to a channel", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Serializes the given object into buffers of the default pool (heap buffers of 8 KiB).
+     *
+     * @param obj The object to be serialized.
+     * @return The json representation, which must be closed to give the buffers back, <b>null</b> in case of face an
+     * unexpected error.
+     */
+    public static @Nullable PooledByteBuffer jsonfyAsBuffer(Object obj) {
+        return jsonfyAsBuffer(obj, BUFFER_POOL);
+    }
+
+    /**
+     * Serializes the given object into buffers of the given pool, e.g. a pool of direct buffers for socket output.
+     *
+     * @param obj  The object to be serialized.
+     * @param pool The pool that provides the buffers.
+     * @return The json representation, which must be closed to give the buffers back, <b>null</b> in case of face an
+     * unexpected error.
+     */
+    public static @Nullable PooledByteBuffer jsonfyAsBuffer(Object obj, ByteBufferPool pool) {
+        var out = new ByteBufferOutputStream(pool);
+        try {
+            DIRECT_WRITER.writeValue(out, obj);
+            return out.toPooledBuffer();
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to covert an object to JSON (as buffer)", ex);
+            out.discard();
             return null;
         }
     }
 
+    /**
+     * Deserializes the given <i>JSON formatted</i> string into an object whose type is also specified.
+     *
+     * @param content The <i>JSON formatted</i> string to be deserialized.
+     * @param clazz   The class type of the desired object result.
+     * @return The result of the deserialization operation, hopefully with the given type, otherwise. <b>null</b> will
+     * be returned.
+     */
+    public static <T> @Nullable T parse(String content, Class<T> clazz) {
+        return codec(clazz).parse(content);
+    }
+
+    public static <T> T parse(byte[] content, Class<T> clazz) {
+        return codec(clazz).parse(content);
+    }
+
     /**
      * Deserializes the given <i>JSON formatted</i> string into an object whose type and generic subtype is also
      * specified.
@@ -115,35 +232,370 @@ public class JsonSerdes {
      * otherwise. <b>null</b> will be returned.
      */
     public static <T> @Nullable T parse(String content, TypeReference<?> type) {
+        return JsonSerdes.<T>typed(codec(type)).parse(content);
+    }
+
+    public static <T> @Nullable T parse(byte[] content, TypeReference<?> type) {
+        return JsonSerdes.<T>typed(codec(type)).parse(content);
+    }
+
+    /**
+     * Deserializes the given <i>JSON formatted</i> string, reporting why it failed instead of returning <b>null</b>,
+     * see {@link JsonCodec#tryParse(String)}.
+     *
+     * @param content The <i>JSON formatted</i> string to be deserialized.
+     * @param clazz   The class type of the desired object result.
+     * @return The value or the failure with its location.
+     */
+    public static <T> @NotNull ParseResult<T> tryParse(String content, Class<T> clazz) {
+        return codec(clazz).tryParse(content);
+    }
+
+    public static <T> @NotNull ParseResult<T> tryParse(byte[] content, Class<T> clazz) {
+        return codec(clazz).tryParse(content);
+    }
+
+    public static <T> @NotNull ParseResult<T> tryParse(String content, TypeReference<T> type) {
+        return codec(type).tryParse(content);
+    }
+
+    public static <T> @NotNull ParseResult<T> tryParse(byte[] content, TypeReference<T> type) {
+        return codec(type).tryParse(content);
+    }
+
+    //-- Compression Operations
+
+    /**
+     * Serializes the given object straight into a <i>gzip</i> content, so the uncompressed json never exists in
+     * memory.
+     *
+     * @param obj The object to be serialized.
+     * @return The compressed json, an empty array in case of face an unexpected error.
+     */
+    public static byte @NotNull [] jsonfyCompressed(Object obj) {
+        var out = new ByteArrayOutputStream(1024);
+
+        return jsonfyCompressed(obj, out, COMPRESSION)
+                ? out.toByteArray()
+                : new byte[0];
+    }
+
+    public static boolean jsonfyCompressed(Object obj, OutputStream out) {
+        return jsonfyCompressed(obj, out, COMPRESSION);
+    }
+
+    /**
+     * Serializes the given object as a <i>gzip</i> content written into the given output, using a deflater of the
+     * given pool. The output is flushed but not closed.
+     *
+     * @param obj  The object to be serialized.
+     * @param out  The destination of the compressed json.
+     * @param pool The pool that defines the compression level.
+     * @return <b>true</b> if the object was written, <b>false</b> in case of face an unexpected error.
+     */
+    public static boolean jsonfyCompressed(Object obj, OutputStream out, CompressionPool pool) {
+        try (var compressed = pool.compress(out)) {
+            DIRECT_WRITER.writeValue(compressed, obj);
+            return true;
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to covert an object to compressed JSON", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Deserializes the given <i>gzip</i> content, decompressing it as it is parsed. The content is read up to its end,
+     * so a corrupt trailer (checksum or size) or anything after the json value makes it fail.
+     *
+     * @param content The compressed <i>JSON formatted</i> content.
+     * @param clazz   The class type of the desired object result.
+     * @return The result of the deserialization operation, <b>null</b> in case of face an unexpected error.
+     */
+    public static <T> @Nullable T parseCompressed(byte[] content, Class<T> clazz) {
+        return parseCompressed(new ByteArrayInputStream(content), codec(clazz).strictReader());
+    }
+
+    /**
+     * Deserializes the <i>gzip</i> content of the given input, decompressing it as it is parsed. The input is closed.
+     *
+     * @param in    The compressed <i>JSON formatted</i> content.
+     * @param clazz The class type of the desired object result.
+     * @return The result of the deserialization operation, <b>null</b> in case of face an unexpected error.
+     */
+    public static <T> @Nullable T parseCompressed(InputStream in, Class<T> clazz) {
+        return parseCompressed(in, codec(clazz).strictReader());
+    }
+
+    public static <T> @Nullable T parseCompressed(InputStream in, TypeReference<T> type) {
+        return parseCompressed(in, codec(type).strictReader());
+    }
+
+    //-- Streaming Operations
+
+    /**
+     * Lazily deserializes the elements of a <i>JSON array</i>, one at a time, so that memory usage does not depend on
+     * the size of the array. Closing the stream closes the given input.
+     *
+     * @param in    The input holding a <i>JSON array</i> (a sequence of root-level values is also accepted).
+     * @param clazz The class type of the elements.
+     * @return A sequential, ordered stream of the elements, empty in case of face an unexpected error when opening the
+     * input. Malformed elements found while consuming the stream raise a {@link RuntimeException}.
+     */
+    public static <T> @NotNull Stream<T> parseAsStream(InputStream in, Class<T> clazz) {
+        var iterator = parseAsIterator(in, clazz);
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, ORDERED | NONNULL), false)
+                .onClose(() -> close(iterator));
+    }
+
+    public static <T> @NotNull Stream<T> parseAsStream(Path path, Class<T> clazz) {
         try {
-            return (T) MAPPER.readValue(content, type);
+            return parseAsStream(Files.newInputStream(path), clazz);
         } catch (Exception ex) {
-            log.trace("Error detected when trying to parse an object from JSON", ex);
-            return null;
+            log.trace("Error detected when trying to open a JSON array from a path", ex);
+            return Stream.empty();
         }
     }
 
-    public static <T> @Nullable T parse(byte[] content, TypeReference<?> type) {
+    public static <T> @NotNull Stream<T> parseAsStream(ReadableByteChannel channel, Class<T> clazz) {
+        return parseAsStream(Channels.newInputStream(channel), clazz);
+    }
+
+    /**
+     * Lazily deserializes the elements of a <i>JSON array</i>, one at a time. The iterator must be closed, which also
+     * closes the given input.
+     *
+     * @param in    The input holding a <i>JSON array</i> (a sequence of root-level values is also accepted).
+     * @param clazz The class type of the elements.
+     * @return An iterator over the elements, empty in case of face an unexpected error when opening the input.
+     */
+    public static <T> @NotNull MappingIterator<T> parseAsIterator(InputStream in, Class<T> clazz) {
         try {
-            return (T) MAPPER.readValue(content, type);
+            return codec(clazz).reader().readValues(in);
         } catch (Exception ex) {
-            log.trace("Error detected when trying to parse an object from JSON", ex);
-            return null;
+            log.trace("Error detected when trying to open a JSON array", ex);
+            close(in);
+            return MappingIterator.emptyIterator();
         }
     }
 
+    /**
+     * Creates an incremental parser for a <i>JSON array</i> that arrives in chunks, such as a chunked upload, which
+     * hands every element to the given consumer as soon as the element is complete.
+     *
+     * @param clazz    The class type of the elements.
+     * @param consumer The receiver of the elements, called on the feeding thread.
+     * @return A new parser, to be fed with the chunks of a single content.
+     */
+    public static <T> @NotNull JsonChunkParser<T> incremental(Class<T> clazz, Consumer<? super T> consumer) {
+        try {
+            return new JsonChunkParser<>(MAPPER, codec(clazz).reader(), consumer);
+        } catch (IOException ex) {
+            // the non-blocking parser is created in memory
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Serializes the given elements as a <i>JSON array</i>, writing each one as soon as it is produced, so that the
+     * whole array never exists in memory. The output is flushed but not closed.
+     *
+     * @param elements The elements to be serialized.
+     * @param out      The destination of the <i>JSON array</i>.
+     * @return <b>true</b> if every element was written, <b>false</b> in case of face an unexpected error.
+     */
+    public static boolean jsonfy(Iterator<?> elements, OutputStream out) {
+        try (var generator = MAPPER.createGenerator(out)) {
+            generator.disable(AUTO_CLOSE_TARGET);
+
+            try (var writer = STREAMING_WRITER.writeValuesAsArray(generator)) {
+                while (elements.hasNext())
+                    writer.write(elements.next());
+            }
+
+            return true;
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to write a JSON array", ex);
+            return false;
+        }
+    }
+
+    public static boolean jsonfy(Stream<?> elements, OutputStream out) {
+        return jsonfy(elements.iterator(), out);
+    }
+
+    //-- Extraction Operations
+
+    /**
+     * Compiles the given <i>JSON Pointers</i> into a reusable extractor, e.g.
+     * {@code JsonSerdes.extractor("/type", "/data/id")}.
+     *
+     * @param pointers The pointers of the desired values.
+     * @return An extractor that reads only the addressed values, in the given order.
+     * @throws IllegalArgumentException If any pointer is malformed.
+     */
+    public static @NotNull JsonExtractor extractor(String... pointers) {
+        var compiled = new JsonPointer[pointers.length];
+        for (var i = 0; i < pointers.length; i++)
+            compiled[i] = JsonPointer.compile(pointers[i]);
+
+        return new JsonExtractor(MAPPER, compiled);
+    }
+
+    /**
+     * Extracts a single value without binding the whole content.
+     *
+     * @param content The <i>JSON formatted</i> string.
+     * @param pointer The <i>JSON Pointer</i> of the desired value.
+     * @return The addressed value, <b>null</b> if it is missing or in case of face an unexpected error.
+     */
+    public static @Nullable JsonNode extract(String content, String pointer) {
+        var values = extractor(pointer).extract(content);
+        return values != null
+                ? values[0]
+                : null;
+    }
+
     //-- Conversion Operations
     public static <T> T convert(Object obj, Class<T> type) {
         if (obj == null)
             return null;
 
-        return obj instanceof String s
-                ? parse(s, type)
-                : MAPPER.convertValue(obj, type);
+        if (obj instanceof String s)
+            return parse(s, type);
+
+        @SuppressWarnings("unchecked")
+        var converter = converter((Class<Object>) obj.getClass(), type);
+        return converter.convert(obj);
     }
 
     public static <T> T convert(Object obj, TypeReference<T> type) {
-        return MAPPER.convertValue(obj, type);
+        return codec(type).convert(obj);
+    }
+
+    /**
+     * Retrieves the compiled converter of the given pair of types, which is what {@link #convert(Object, Class)} uses.
+     *
+     * @param source The class of the objects to be converted.
+     * @param target The desired class.
+     * @return The shared converter of the pair.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> @NotNull BeanConverter<S, T> converter(Class<S> source, Class<T> target) {
+        var converters = CONVERTERS.get(source);
+        var converter = converters.get(target);
+        if (converter == null)
+            converter = converters.computeIfAbsent(target, key -> new BeanConverter<>(MAPPER, source, key));
+
+        return (BeanConverter<S, T>) converter;
+    }
+
+    //-- Format Operations
+
+    /**
+     * Retrieves the operations of the given format, e.g. {@code JsonSerdes.format(SMILE).serialize(obj)}. The binary
+     * formats share the json configuration and are meant for internal caches and queues; the json format uses the
+     * same mapper as the rest of this class.
+     *
+     * @param format The desired wire format.
+     * @return The shared operations of the format.
+     */
+    public static @NotNull FormatSerdes format(SerdeFormat format) {
+        var serdes = FORMATS.get(format);
+        if (serdes != null)
+            return serdes;
+
+        // binary mappers are only built, and their modules loaded, when first requested
+        return FORMATS.computeIfAbsent(format, key -> new FormatSerdes(key, key == SerdeFormat.JSON
+                ? MAPPER
+                : newMapper(key)));
+    }
+
+    //-- Instrumentation Operations
+
+    /**
+     * Installs the hook that receives the outcome, length and latency of every parse done through the codecs, which
+     * includes the parse operations of this class, e.g. {@code JsonSerdes.instrument(new SerdeCounters())}.
+     *
+     * @param hook The hook, {@link SerdeMetrics#NONE} to disable the instrumentation.
+     */
+    public static void instrument(@NotNull SerdeMetrics hook) {
+        metrics = hook;
+    }
+
+    static SerdeMetrics metrics() {
+        return metrics;
+    }
+
+    //-- Codec Operations
+
+    /**
+     * Retrieves the shared codec of the given type, building it on first use.
+     *
+     * @param clazz The class type handled by the codec.
+     * @return A codec whose reader and writer are already resolved for the type.
+     */
+    public static <T> @NotNull JsonCodec<T> codec(Class<T> clazz) {
+        return typed(CLASS_CODECS.get(clazz));
+    }
+
+    /**
+     * Retrieves the shared codec of the given type and generic subtype, building it on first use.
+     *
+     * @param type The class type and the parameterized sub type handled by the codec.
+     * @return A codec whose reader and writer are already resolved for the type.
+     */
+    public static <T> @NotNull JsonCodec<T> codec(TypeReference<T> type) {
+        return typed(CODECS.computeIfAbsent(type.getType(),
+                key -> new JsonCodec<>(MAPPER, MAPPER.constructType(type))));
+    }
+
+    public static <T> @NotNull JsonCodec<T> codec(JavaType type) {
+        return typed(CODECS.computeIfAbsent(type, key -> new JsonCodec<>(MAPPER, type)));
+    }
+
+    // the cache values are keyed by their own type, so the cast always holds
+    @SuppressWarnings("unchecked")
+    private static <T> JsonCodec<T> typed(JsonCodec<?> codec) {
+        return (JsonCodec<T>) codec;
+    }
+
+    /**
+     * Builds the codecs of the given types ahead of time, e.g. at application startup, so that the first calls do
+     * not pay for the (de)serializer resolution.
+     *
+     * @param classes The class types to be prepared.
+     */
+    public static void warmUp(Class<?>... classes) {
+        for (var clazz : classes)
+            codec(clazz);
+    }
+
+    private static ObjectMapper newMapper(SerdeFormat format) {
+        return format.builder()
+                .serializationInclusion(NON_EMPTY)
+                .featuresToDisable(WRITE_DATES_AS_TIMESTAMPS)
+                .modules(new JavaTimeModule())
+                .build();
+    }
+
+    private static <T> T parseCompressed(InputStream in, ObjectReader reader) {
+        try (var decompressed = COMPRESSION.decompress(in)) {
+            return reader.readValue(decompressed);
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to parse an object from compressed JSON", ex);
+            close(in);
+            return null;
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ex) {
+            log.trace("Error detected when trying to close a JSON source", ex);
+        }
     }
 
     /**
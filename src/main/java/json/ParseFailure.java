@@ -0,0 +1,101 @@
+package json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Why and where some content could not be parsed. Positions are <b>-1</b> when unknown; lines and columns start at 1
+ * and the offset is counted in chars for strings and in bytes otherwise.
+ *
+ * @param reason The description of the problem, without the location.
+ * @param path   The reference chain of the property being bound, such as {@code Proposal["parcels"]->...}, or
+ *               <b>null</b> for syntax errors.
+ * @param line   The line of the problem.
+ * @param column The column of the problem.
+ * @param offset The offset of the problem.
+ */
+public record ParseFailure(@NotNull String reason, @Nullable String path, long line, long column, long offset) {
+
+    static final ParseFailure EMPTY = new ParseFailure("No content to parse", null, -1, -1, -1);
+
+    static @NotNull ParseFailure of(Exception ex) {
+        if (!(ex instanceof JsonProcessingException processing))
+            return new ParseFailure(String.valueOf(ex.getMessage()), null, -1, -1, -1);
+
+        var path = processing instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()
+                ? mapping.getPathReference()
+                : null;
+        var location = processing.getLocation();
+        if (location == null)
+            return new ParseFailure(processing.getOriginalMessage(), path, -1, -1, -1);
+
+        return new ParseFailure(processing.getOriginalMessage(),
+                path,
+                location.getLineNr(),
+                location.getColumnNr(),
+                location.getCharOffset() >= 0 ? location.getCharOffset() : location.getByteOffset());
+    }
+
+    /**
+     * Rejects, without running the parser, content that cannot be json at all: empty or blank content, content that
+     * does not start like a json value (an HTML error page, a plain text message) and objects or arrays that do not
+     * end with their closing bracket (a truncated body).
+     *
+     * @return The failure, <b>null</b> if the content may be json.
+     */
+    static @Nullable ParseFailure check(CharSequence content) {
+        var length = content.length();
+        var start = 0;
+        while (start < length && isWhitespace(content.charAt(start)))
+            start++;
+        var end = length - 1;
+        while (end > start && isWhitespace(content.charAt(end)))
+            end--;
+
+        return start < length
+                ? check(content.charAt(start), content.charAt(end), start, end)
+                : EMPTY;
+    }
+
+    static @Nullable ParseFailure check(byte[] content) {
+        var length = content.length;
+        var start = 0;
+        // the parser only skips a byte order mark in binary content
+        if (length >= 3 && content[0] == (byte) 0xEF && content[1] == (byte) 0xBB && content[2] == (byte) 0xBF)
+            start = 3;
+        while (start < length && isWhitespace(content[start]))
+            start++;
+        var end = length - 1;
+        while (end > start && isWhitespace(content[end]))
+            end--;
+
+        return start < length
+                ? check(content[start], content[end], start, end)
+                : EMPTY;
+    }
+
+    private static ParseFailure check(int first, int last, int start, int end) {
+        var expected = switch (first) {
+            case '{' -> '}';
+            case '[' -> ']';
+            case '"' -> '"';
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 't', 'f', 'n' -> -1;
+            default -> -2;
+        };
+        if (expected == -2)
+            return new ParseFailure("Unexpected character '" + (char) first + "' at the start of the content",
+                    null, -1, -1, start);
+        if (expected != -1 && (start == end || last != expected))
+            return new ParseFailure("Unexpected end of the content, expected '" + (char) expected + "'",
+                    null, -1, -1, end + 1L);
+
+        return null;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+}
@@ -0,0 +1,50 @@
+package json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Outcome of a parse: either the value or the {@link ParseFailure} describing why there is none.
+ * <p>
+ * Failures are plain values, they carry no exception nor stack trace, so rejecting bad input costs no more than
+ * reporting it.
+ *
+ * @param value   The parsed value, which is <b>null</b> for the json {@code null} literal and for failures.
+ * @param failure The failure, <b>null</b> on success.
+ * @param <T>     The type of the value.
+ */
+public record ParseResult<T>(@Nullable T value, @Nullable ParseFailure failure) {
+
+    static <T> @NotNull ParseResult<T> success(T value) {
+        return new ParseResult<>(value, null);
+    }
+
+    static <T> @NotNull ParseResult<T> failed(@NotNull ParseFailure failure) {
+        return new ParseResult<>(null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * Gets the value of a successful parse.
+     *
+     * @return The parsed value.
+     * @throws NoSuchElementException If the parse failed.
+     */
+    public T get() {
+        if (failure != null)
+            throw new NoSuchElementException(failure.reason());
+        return value;
+    }
+
+    public T orElse(T other) {
+        return failure == null
+                ? value
+                : other;
+    }
+
+}
@@ -0,0 +1,84 @@
+package json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Serialized content held in a chain of buffers borrowed from a {@link ByteBufferPool}. Closing it gives the buffers
+ * back, so it must be closed once the content has been consumed, typically with <i>try-with-resources</i>.
+ */
+public final class PooledByteBuffer implements AutoCloseable {
+
+    private final ByteBufferPool pool;
+    private ByteBuffer[] buffers;
+
+    PooledByteBuffer(ByteBufferPool pool, ByteBuffer[] buffers) {
+        this.pool = pool;
+        this.buffers = buffers;
+    }
+
+    /**
+     * Retrieves the content, in order, each buffer ready to be read from its position to its limit. The array suits the
+     * gathering writes of {@link GatheringByteChannel#write(ByteBuffer[])}.
+     *
+     * @return The buffers holding the content.
+     */
+    public ByteBuffer[] buffers() {
+        if (buffers == null)
+            throw new IllegalStateException("buffer already released");
+
+        return buffers;
+    }
+
+    /**
+     * Retrieves the number of content bytes not consumed yet.
+     *
+     * @return The remaining bytes.
+     */
+    public long size() {
+        var size = 0L;
+        for (var buffer : buffers())
+            size += buffer.remaining();
+
+        return size;
+    }
+
+    /**
+     * Writes the remaining content to the given channel, with gathering writes when the channel supports them. The
+     * channel must be in blocking mode, so that every write makes progress.
+     *
+     * @param channel The destination channel.
+     * @throws IOException                  If the channel fails.
+     * @throws IllegalBlockingModeException If the channel is in non-blocking mode.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking())
+            throw new IllegalBlockingModeException();
+
+        var content = buffers();
+        var first = 0;
+        while (first < content.length) {
+            if (channel instanceof GatheringByteChannel gathering)
+                gathering.write(content, first, content.length - first);
+            else
+                channel.write(content[first]);
+
+            while (first < content.length && !content[first].hasRemaining())
+                first++;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (buffers != null) {
+            for (var buffer : buffers)
+                pool.release(buffer);
+            buffers = null;
+        }
+    }
+
+}
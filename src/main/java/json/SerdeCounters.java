@@ -0,0 +1,106 @@
+package json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SerdeMetrics} that keeps per type counters of parses, failures, processed length and elapsed time, meant to
+ * be polled by a metrics exporter or an admin endpoint.
+ */
+public final class SerdeCounters implements SerdeMetrics {
+
+    private final Map<JavaType, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void parsed(JavaType type, long length, long nanos, @Nullable ParseFailure failure) {
+        var counter = counters.get(type);
+        if (counter == null)
+            counter = counters.computeIfAbsent(type, key -> new Counter());
+
+        counter.parses.increment();
+        counter.length.add(length);
+        counter.nanos.add(nanos);
+        if (failure != null)
+            counter.failures.increment();
+    }
+
+    /**
+     * Gets the current counters of the given type.
+     *
+     * @param type The parsed type.
+     * @return The counters, all zero if the type was never parsed.
+     */
+    public @NotNull Stats stats(JavaType type) {
+        var counter = counters.get(type);
+        return counter != null
+                ? counter.stats()
+                : new Stats(0, 0, 0, 0);
+    }
+
+    public @NotNull Stats stats(Class<?> type) {
+        return stats(JsonSerdes.mapper().constructType(type));
+    }
+
+    /**
+     * Gets the current counters of every parsed type.
+     *
+     * @return A copy of the counters, keyed by type.
+     */
+    public @NotNull Map<JavaType, Stats> snapshot() {
+        var snapshot = new HashMap<JavaType, Stats>(counters.size() * 2);
+        counters.forEach((type, counter) -> snapshot.put(type, counter.stats()));
+
+        return snapshot;
+    }
+
+    /**
+     * Resets every counter.
+     */
+    public void clear() {
+        counters.clear();
+    }
+
+    /**
+     * Counters of a single type.
+     *
+     * @param parses   The number of parses.
+     * @param failures The number of parses that failed.
+     * @param length   The total length of the parsed content.
+     * @param nanos    The total elapsed time.
+     */
+    public record Stats(long parses, long failures, long length, long nanos) {
+
+        public double failureRate() {
+            return parses == 0L
+                    ? 0D
+                    : (double) failures / parses;
+        }
+
+        public double meanNanos() {
+            return parses == 0L
+                    ? 0D
+                    : (double) nanos / parses;
+        }
+
+    }
+
+    private static final class Counter {
+
+        private final LongAdder parses = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder length = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        Stats stats() {
+            return new Stats(parses.sum(), failures.sum(), length.sum(), nanos.sum());
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package json;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.function.Supplier;
+
+/**
+ * Wire formats supported by {@link JsonSerdes#format(SerdeFormat)}. Every format shares the {@link JsonSerdes}
+ * configuration.
+ */
+public enum SerdeFormat {
+
+    /**
+     * Textual json, the format of every {@link JsonSerdes} operation. Use it for external APIs.
+     */
+    JSON(Jackson2ObjectMapperBuilder::json),
+    /**
+     * Binary json (Smile). Smaller and faster to parse than json; meant for internal caches and queues.
+     */
+    SMILE(Jackson2ObjectMapperBuilder::smile),
+    /**
+     * Concise Binary Object Representation (RFC 8949); meant for internal caches and queues.
+     */
+    CBOR(Jackson2ObjectMapperBuilder::cbor);
+
+    private final Supplier<Jackson2ObjectMapperBuilder> builder;
+
+    SerdeFormat(Supplier<Jackson2ObjectMapperBuilder> builder) {
+        this.builder = builder;
+    }
+
+    Jackson2ObjectMapperBuilder builder() {
+        return builder.get();
+    }
+
+}
@@ -0,0 +1,30 @@
+package json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Instrumentation hook of the {@link JsonSerdes} parse operations, installed with
+ * {@link JsonSerdes#instrument(SerdeMetrics)}. It is called on the parsing thread after every parse, so it must be
+ * cheap and thread-safe; {@link SerdeCounters} is the provided implementation.
+ */
+@FunctionalInterface
+public interface SerdeMetrics {
+
+    /**
+     * Disables the instrumentation, the parse operations do not even read the clock.
+     */
+    SerdeMetrics NONE = (type, length, nanos, failure) -> {
+    };
+
+    /**
+     * Records a parse.
+     *
+     * @param type    The type the content was parsed into.
+     * @param length  The length of the content, in chars for strings and in bytes otherwise.
+     * @param nanos   The elapsed time.
+     * @param failure The failure, <b>null</b> on success.
+     */
+    void parsed(JavaType type, long length, long nanos, @Nullable ParseFailure failure);
+
+}
@@ -1,25 +1,25 @@
 package util;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import util.cet.CashFlowSchedule;
+import util.cet.CetBatch;
+import util.cet.CetResult;
+import util.cet.CetSolver;
+import util.cet.DiscountFactors;
 
-import static java.lang.Math.pow;
-import static java.math.RoundingMode.HALF_UP;
-import static java.time.temporal.ChronoUnit.DAYS;
+import java.time.LocalDate;
 
 /**
  * Calculador do CET.
  * <p>
  * O calculo abaixo esta de acordo com a formula da Resolucaoo CMN 3.517, de 2007
- * A formula e uma generalizacao e seu calculo por aproximacao deixa o programa
- * com entendimento mais simples
+ * A taxa e encontrada pelo metodo de Newton com derivada analitica, protegido por bissecao dentro de um intervalo
+ * que sempre contem a raiz (ver {@link CetSolver}).
  * <p>
  * Ha uma margem de erro insignificante no calculo.
  */
 public class Cet {
 
-    private static final double CET_MAXVALUE = 10000.00;
-    private static final double CET_PRECISION = 0.0000001;
+    private static final double CET_NOT_FOUND = -1.0;
 
     private Cet() {
     }
@@ -30,32 +30,22 @@ public class Cet {
      * @param liquidValueFinanced {@link Double} Valor liquido financiado.
      * @param fixedParcelValue    {@link Double} Valor da parcela fixa
      * @param numberMonthlyParcel {@link Integer} Numero de parcelas mensais
-     * @return {@link Double}
+     * @return {@link Double} O CET em porcentagem, ou -1.0 se nao foi possivel calcular
      */
     public static double monthly(double liquidValueFinanced, double fixedParcelValue, int numberMonthlyParcel) {
-        var cet = 0D;
-        double total;
-
-        while (true) {
-            total = 0D;
-
-            for (var j = 0; j < numberMonthlyParcel; j++)
-                total += fixedParcelValue / pow(1.0 + cet, j + 1.0);
-
-            cet += CET_PRECISION;
-
-            if (cet >= CET_MAXVALUE)
-                return -1.0;
-            if (total - liquidValueFinanced <= 0)
-                break;
-            else
-                cet *= total / liquidValueFinanced;
-        }
+        return percent(solveMonthly(liquidValueFinanced, fixedParcelValue, numberMonthlyParcel));
+    }
 
-        return BigDecimal
-                .valueOf(cet * 100.0)
-                .setScale(3, HALF_UP)
-                .doubleValue();
+    /**
+     * Calculo do custo efetivo total mensal, informando o estado de convergencia.
+     *
+     * @param liquidValueFinanced {@link Double} Valor liquido financiado.
+     * @param fixedParcelValue    {@link Double} Valor da parcela fixa
+     * @param numberMonthlyParcel {@link Integer} Numero de parcelas mensais
+     * @return {@link CetResult} A taxa mensal (fracao) e o estado do calculo
+     */
+    public static CetResult solveMonthly(double liquidValueFinanced, double fixedParcelValue, int numberMonthlyParcel) {
+        return CetSolver.DEFAULT.monthly(liquidValueFinanced, fixedParcelValue, numberMonthlyParcel);
     }
 
     /**
@@ -66,42 +56,155 @@ public class Cet {
      * @param numberMonthlyParcel         {@link Integer} Numero de parcelas mensais
      * @param contractDate                {@link LocalDate} Data do contrato (liberacao de recursos)
      * @param releaseDateFirstInstallment {@link LocalDate} Data da liberacao da primeira parcela
-     * @return {@link Double}
+     * @return {@link Double} O CET em porcentagem, ou -1.0 se nao foi possivel calcular
      */
     public static double annual(double liquidValueFinanced,
                                 double fixedParcelValue,
                                 int numberMonthlyParcel,
                                 LocalDate contractDate,
                                 LocalDate releaseDateFirstInstallment) {
+        return percent(solveAnnual(liquidValueFinanced, fixedParcelValue, numberMonthlyParcel, contractDate,
+                releaseDateFirstInstallment));
+    }
+
+    /**
+     * Calculo do custo efetivo total anual, informando o estado de convergencia.
+     *
+     * @param liquidValueFinanced         {@link Double} Valor liquido financiado.
+     * @param fixedParcelValue            {@link Double} Valor da parcela fixa
+     * @param numberMonthlyParcel         {@link Integer} Numero de parcelas mensais
+     * @param contractDate                {@link LocalDate} Data do contrato (liberacao de recursos)
+     * @param releaseDateFirstInstallment {@link LocalDate} Data da liberacao da primeira parcela
+     * @return {@link CetResult} A taxa anual (fracao) e o estado do calculo
+     */
+    public static CetResult solveAnnual(double liquidValueFinanced,
+                                        double fixedParcelValue,
+                                        int numberMonthlyParcel,
+                                        LocalDate contractDate,
+                                        LocalDate releaseDateFirstInstallment) {
+        var schedule = CashFlowSchedule.fixed(liquidValueFinanced, fixedParcelValue, numberMonthlyParcel,
+                contractDate, releaseDateFirstInstallment);
+
+        return CetSolver.DEFAULT.xirr(schedule);
+    }
+
+    /**
+     * Calculo do custo efetivo total anual de um fluxo qualquer (tarifas na liberacao, carencia, parcelas
+     * variaveis ou balao), informando o estado de convergencia.
+     *
+     * @param schedule {@link CashFlowSchedule} Valor liberado e parcelas do emprestimo
+     * @return {@link CetResult} A taxa anual (fracao) e o estado do calculo
+     */
+    public static CetResult solveAnnual(CashFlowSchedule schedule) {
+        return CetSolver.DEFAULT.xirr(schedule);
+    }
+
+    /**
+     * Calculo inverso do CET mensal: valor da parcela fixa que resulta no CET informado.
+     *
+     * @param liquidValueFinanced {@link Double} Valor liquido financiado.
+     * @param monthlyCet          {@link Double} CET mensal desejado, em porcentagem
+     * @param numberMonthlyParcel {@link Integer} Numero de parcelas mensais
+     * @return {@link Double} Valor da parcela fixa
+     */
+    public static double monthlyInstallment(double liquidValueFinanced, double monthlyCet, int numberMonthlyParcel) {
+        return liquidValueFinanced / DiscountFactors.annuity(rate(monthlyCet), term(numberMonthlyParcel));
+    }
+
+    /**
+     * Calculo inverso do CET mensal: valor liquido maximo que pode ser financiado com a parcela e o CET informados.
+     *
+     * @param fixedParcelValue    {@link Double} Valor da parcela fixa
+     * @param monthlyCet          {@link Double} CET mensal desejado, em porcentagem
+     * @param numberMonthlyParcel {@link Integer} Numero de parcelas mensais
+     * @return {@link Double} Valor liquido financiado
+     */
+    public static double monthlyFinancedValue(double fixedParcelValue, double monthlyCet, int numberMonthlyParcel) {
+        return fixedParcelValue * DiscountFactors.annuity(rate(monthlyCet), term(numberMonthlyParcel));
+    }
+
+    /**
+     * Calculo inverso do CET anual: valor da parcela fixa que resulta no CET informado.
+     *
+     * @param liquidValueFinanced         {@link Double} Valor liquido financiado.
+     * @param annualCet                   {@link Double} CET anual desejado, em porcentagem
+     * @param numberMonthlyParcel         {@link Integer} Numero de parcelas mensais
+     * @param contractDate                {@link LocalDate} Data do contrato (liberacao de recursos)
+     * @param releaseDateFirstInstallment {@link LocalDate} Data da liberacao da primeira parcela
+     * @return {@link Double} Valor da parcela fixa
+     */
+    public static double annualInstallment(double liquidValueFinanced,
+                                           double annualCet,
+                                           int numberMonthlyParcel,
+                                           LocalDate contractDate,
+                                           LocalDate releaseDateFirstInstallment) {
+        return liquidValueFinanced / unitPresentValue(annualCet, numberMonthlyParcel, contractDate,
+                releaseDateFirstInstallment);
+    }
+
+    /**
+     * Calculo inverso do CET anual: valor liquido maximo que pode ser financiado com a parcela e o CET informados.
+     *
+     * @param fixedParcelValue            {@link Double} Valor da parcela fixa
+     * @param annualCet                   {@link Double} CET anual desejado, em porcentagem
+     * @param numberMonthlyParcel         {@link Integer} Numero de parcelas mensais
+     * @param contractDate                {@link LocalDate} Data do contrato (liberacao de recursos)
+     * @param releaseDateFirstInstallment {@link LocalDate} Data da liberacao da primeira parcela
+     * @return {@link Double} Valor liquido financiado
+     */
+    public static double annualFinancedValue(double fixedParcelValue,
+                                             double annualCet,
+                                             int numberMonthlyParcel,
+                                             LocalDate contractDate,
+                                             LocalDate releaseDateFirstInstallment) {
+        return fixedParcelValue * unitPresentValue(annualCet, numberMonthlyParcel, contractDate,
+                releaseDateFirstInstallment);
+    }
+
+    /**
+     * Calculo inverso do CET mensal para uma grade de prazos.
+     *
+     * @param liquidValueFinanced {@link Double} Valor liquido financiado.
+     * @param monthlyCet          {@link Double} CET mensal desejado, em porcentagem
+     * @param terms               {@link Integer} Numeros de parcelas mensais
+     * @param installments        {@link Double} Recebe o valor da parcela de cada prazo, na mesma posicao
+     */
+    public static void monthlyInstallments(double liquidValueFinanced,
+                                           double monthlyCet,
+                                           int[] terms,
+                                           double[] installments) {
+        CetBatch.installments(liquidValueFinanced, rate(monthlyCet), terms, installments);
+    }
+
+    // o CET e linear no valor da parcela: basta o valor presente de uma parcela unitaria
+    private static double unitPresentValue(double annualCet,
+                                           int numberMonthlyParcel,
+                                           LocalDate contractDate,
+                                           LocalDate releaseDateFirstInstallment) {
+        var schedule = CashFlowSchedule.fixed(0D, 1D, term(numberMonthlyParcel), contractDate,
+                releaseDateFirstInstallment);
+
+        return DiscountFactors.presentValue(rate(annualCet), schedule);
+    }
+
+    private static double rate(double cet) {
+        if (!(cet > -100.0))
+            throw new IllegalArgumentException("CET must be greater than -100%: " + cet);
+
+        return cet / 100.0;
+    }
+
+    private static int term(int numberMonthlyParcel) {
+        if (numberMonthlyParcel < 1)
+            throw new IllegalArgumentException("number of installments must be positive: " + numberMonthlyParcel);
+
+        return numberMonthlyParcel;
+    }
 
-        var cet = 0D;
-        double total;
-        long days;
-
-        while (true) {
-            total = 0D;
-
-            for (var j = 0; j < numberMonthlyParcel; j++) {
-                days = j != 0
-                        ? contractDate.until(releaseDateFirstInstallment.plusMonths(j), DAYS)
-                        : contractDate.until(releaseDateFirstInstallment, DAYS);
-                total += fixedParcelValue / pow(1.0 + cet, days / 365.0);
-            }
-
-            cet += CET_PRECISION;
-
-            if (cet >= CET_MAXVALUE)
-                return -1.0;
-            if (total - liquidValueFinanced <= 0)
-                break;
-            else
-                cet *= total / liquidValueFinanced;
-        }
-
-        return BigDecimal
-                .valueOf(cet * 100.0)
-                .setScale(3, HALF_UP)
-                .doubleValue();
+    private static double percent(CetResult result) {
+        return result.converged()
+                ? result.percent()
+                : CET_NOT_FOUND;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package util;
+
+import java.util.BitSet;
+
+/**
+ * Dates of a whole column parsed by {@link DateColumnParser}, stored as primitives.
+ * <p>
+ * The column holds either epoch days or epoch seconds, depending on the operation that built it. Rows that could not
+ * be parsed (null, blank or not matching the layout of the column) are set in {@link #errors()} and hold 0.
+ */
+public final class DateColumn {
+
+    private final GeneralDateParser.Layout layout;
+    private final int size;
+    private final int[] epochDays;
+    private final long[] epochSeconds;
+    private final BitSet errors;
+
+    DateColumn(GeneralDateParser.Layout layout, int size, int[] epochDays, long[] epochSeconds, BitSet errors) {
+        this.layout = layout;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.epochSeconds = epochSeconds;
+        this.errors = errors;
+    }
+
+    /**
+     * Gets the layout inferred for the column and used for every row.
+     *
+     * @return {@link GeneralDateParser.Layout}
+     */
+    public GeneralDateParser.Layout layout() {
+        return layout;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of days since 1970-01-01 of every row.
+     *
+     * @return {@link Integer} The array of the column, indexed by row, not copied.
+     * @throws IllegalStateException If the column was parsed into epoch seconds.
+     */
+    public int[] epochDays() {
+        if (epochDays == null)
+            throw new IllegalStateException("Column was parsed into epoch seconds");
+
+        return epochDays;
+    }
+
+    /**
+     * Gets the number of seconds since 1970-01-01T00:00Z of every row, using the zone of each text or UTC.
+     *
+     * @return {@link Long} The array of the column, indexed by row, not copied.
+     * @throws IllegalStateException If the column was parsed into epoch days.
+     */
+    public long[] epochSeconds() {
+        if (epochSeconds == null)
+            throw new IllegalStateException("Column was parsed into epoch days");
+
+        return epochSeconds;
+    }
+
+    /**
+     * Gets the rows that could not be parsed.
+     *
+     * @return {@link BitSet} The bitmap of the failed rows, not copied.
+     */
+    public BitSet errors() {
+        return errors;
+    }
+
+    public int errorCount() {
+        return errors.cardinality();
+    }
+
+    public boolean isValid(int row) {
+        return row < size && !errors.get(row);
+    }
+
+}
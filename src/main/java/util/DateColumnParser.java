@@ -0,0 +1,226 @@
+package util;
+
+import util.GeneralDateParser.Layout;
+import util.GeneralDateParser.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Parses whole columns of dates (the dates of a file or a query result) with a single layout.
+ * <p>
+ * The layout is inferred once from a sample of the first rows: year first wins when most of the sample is year first,
+ * otherwise a field greater than 12 in the first or the second position is a vote for the day or the month first
+ * layout, and the layout with most votes wins; when the sample has no evidence, like a column of {@code 05/06/2022},
+ * the fallback layout of the parser is used. Every row is then parsed with the
+ * {@link GeneralDateParser#strict(Layout) strict} parser of that layout, so that a column cannot silently mix
+ * {@code d/M} and {@code M/d} rows: a row contradicting the layout is reported as an error instead.
+ * <p>
+ * Parsing reuses a single {@link Result} and writes to primitive arrays, so nothing is allocated per row.
+ */
+public final class DateColumnParser {
+
+    /**
+     * Number of leading rows used to infer the layout.
+     */
+    public static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * Resolves columns without evidence as {@code M/d/yyyy}, like {@link DateUtil#parse(String)}.
+     */
+    public static final DateColumnParser MONTH_FIRST = new DateColumnParser(Layout.MONTH_FIRST);
+    /**
+     * Resolves columns without evidence as {@code d/M/yyyy}, the Brazilian layout.
+     */
+    public static final DateColumnParser DAY_FIRST = new DateColumnParser(Layout.DAY_FIRST);
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Layout fallback;
+
+    private DateColumnParser(Layout fallback) {
+        this.fallback = fallback;
+    }
+
+    public Layout fallback() {
+        return fallback;
+    }
+
+    //-- Inference Operations
+
+    /**
+     * Infers the layout of a column from its first {@link #SAMPLE_SIZE} rows.
+     *
+     * @param column {@link List} The rows of the column, <b>null</b> and unparseable rows are ignored.
+     * @return {@link Layout} The inferred layout, the fallback one if the sample has no evidence.
+     */
+    public Layout infer(List<? extends CharSequence> column) {
+        var result = new Result();
+        var dayFirst = 0;
+        var monthFirst = 0;
+        var yearFirst = 0;
+        var parsed = 0;
+
+        var iterator = column.iterator();
+        for (var sampled = 0; sampled < SAMPLE_SIZE && iterator.hasNext(); sampled++) {
+            var text = iterator.next();
+            if (text == null || !GeneralDateParser.MONTH_FIRST.parse(text, result))
+                continue;
+
+            parsed++;
+            switch (result.layout()) {
+                case YEAR_FIRST -> yearFirst++;
+                // the lenient parser prefers month first, so day first is always decided by a field over 12
+                case DAY_FIRST -> dayFirst++;
+                case MONTH_FIRST -> {
+                    if (!result.isAmbiguous() && result.month() != result.day())
+                        monthFirst++;
+                }
+            }
+        }
+
+        // year first rows are never ambiguous, so they only need to be the majority of the sample
+        if (yearFirst > parsed - yearFirst)
+            return Layout.YEAR_FIRST;
+        if (dayFirst != monthFirst)
+            return dayFirst > monthFirst
+                    ? Layout.DAY_FIRST
+                    : Layout.MONTH_FIRST;
+
+        return fallback;
+    }
+
+    //-- Epoch Day Operations
+
+    /**
+     * Parses every row of the column into the number of days since 1970-01-01, the time being validated and ignored.
+     *
+     * @param column {@link List} The rows of the column.
+     * @return {@link DateColumn} The epoch days and the failed rows.
+     */
+    public DateColumn epochDays(List<? extends CharSequence> column) {
+        if (!(column instanceof RandomAccess))
+            return epochDays(column.iterator());
+
+        var layout = infer(column);
+        var parser = GeneralDateParser.strict(layout);
+        var result = new Result();
+        var size = column.size();
+        var days = new int[size];
+        var errors = new BitSet();
+
+        for (var row = 0; row < size; row++) {
+            var text = column.get(row);
+            if (text != null && parser.parse(text, result))
+                days[row] = (int) result.epochDay();
+            else
+                errors.set(row);
+        }
+
+        return new DateColumn(layout, size, days, null, errors);
+    }
+
+    public DateColumn epochDays(CharSequence[] column) {
+        return epochDays(Arrays.asList(column));
+    }
+
+    /**
+     * Parses the column into epoch days in a single pass, buffering only the rows used to infer the layout.
+     *
+     * @param column {@link Iterator} The rows of the column.
+     * @return {@link DateColumn} The epoch days and the failed rows.
+     */
+    public DateColumn epochDays(Iterator<? extends CharSequence> column) {
+        var sample = sample(column);
+        var layout = infer(sample);
+        var parser = GeneralDateParser.strict(layout);
+        var result = new Result();
+        var days = new int[Math.max(INITIAL_CAPACITY, sample.size())];
+        var errors = new BitSet();
+
+        var row = 0;
+        for (var sampled = sample.iterator(); sampled.hasNext() || column.hasNext(); row++) {
+            var text = sampled.hasNext() ? sampled.next() : column.next();
+            if (row == days.length)
+                days = Arrays.copyOf(days, row << 1);
+            if (text != null && parser.parse(text, result))
+                days[row] = (int) result.epochDay();
+            else
+                errors.set(row);
+        }
+
+        return new DateColumn(layout, row, Arrays.copyOf(days, row), null, errors);
+    }
+
+    //-- Epoch Second Operations
+
+    /**
+     * Parses every row of the column into the number of seconds since 1970-01-01T00:00Z, using the zone of each text
+     * or UTC when there is none.
+     *
+     * @param column {@link List} The rows of the column.
+     * @return {@link DateColumn} The epoch seconds and the failed rows.
+     */
+    public DateColumn epochSeconds(List<? extends CharSequence> column) {
+        if (!(column instanceof RandomAccess))
+            return epochSeconds(column.iterator());
+
+        var layout = infer(column);
+        var parser = GeneralDateParser.strict(layout);
+        var result = new Result();
+        var size = column.size();
+        var seconds = new long[size];
+        var errors = new BitSet();
+
+        for (var row = 0; row < size; row++) {
+            var text = column.get(row);
+            if (text != null && parser.parse(text, result))
+                seconds[row] = result.epochSecond();
+            else
+                errors.set(row);
+        }
+
+        return new DateColumn(layout, size, null, seconds, errors);
+    }
+
+    public DateColumn epochSeconds(CharSequence[] column) {
+        return epochSeconds(Arrays.asList(column));
+    }
+
+    public DateColumn epochSeconds(Iterator<? extends CharSequence> column) {
+        var sample = sample(column);
+        var layout = infer(sample);
+        var parser = GeneralDateParser.strict(layout);
+        var result = new Result();
+        var seconds = new long[Math.max(INITIAL_CAPACITY, sample.size())];
+        var errors = new BitSet();
+
+        var row = 0;
+        for (var sampled = sample.iterator(); sampled.hasNext() || column.hasNext(); row++) {
+            var text = sampled.hasNext() ? sampled.next() : column.next();
+            if (row == seconds.length)
+                seconds = Arrays.copyOf(seconds, row << 1);
+            if (text != null && parser.parse(text, result))
+                seconds[row] = result.epochSecond();
+            else
+                errors.set(row);
+        }
+
+        return new DateColumn(layout, row, null, Arrays.copyOf(seconds, row), errors);
+    }
+
+    //-- Support methods
+
+    private static List<CharSequence> sample(Iterator<? extends CharSequence> column) {
+        var sample = new ArrayList<CharSequence>(INITIAL_CAPACITY);
+        while (sample.size() < SAMPLE_SIZE && column.hasNext())
+            sample.add(column.next());
+
+        return sample;
+    }
+
+}
@@ -0,0 +1,81 @@
+package util;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of compiled {@link DateTimeFormatter}s keyed by pattern.
+ * <p>
+ * Formatters are immutable, so a pattern is compiled once and shared by every caller. Lookups are a single
+ * {@link ConcurrentHashMap} read. The registry is bounded, so patterns that come from data (user settings, file
+ * layouts) cannot grow it forever: once it holds {@code maximumSize} patterns, the oldest one is evicted to make room
+ * for a new one.
+ */
+public final class DateFormatterRegistry {
+
+    private final int maximumSize;
+    private final Locale locale;
+    private final Map<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+    // patterns in insertion order, guarded by this
+    private final Queue<String> patterns = new ArrayDeque<>();
+
+    /**
+     * Creates a registry.
+     *
+     * @param maximumSize {@link Integer} Maximum number of patterns kept.
+     * @param locale      {@link Locale} Locale of the formatters, used for month and day names.
+     */
+    public DateFormatterRegistry(int maximumSize, Locale locale) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("maximumSize must be positive");
+
+        this.maximumSize = maximumSize;
+        this.locale = locale;
+    }
+
+    /**
+     * Gets the formatter of the given pattern, compiling it only the first time.
+     *
+     * @param pattern {@link String} The pattern, as accepted by {@link DateTimeFormatter#ofPattern(String, Locale)}.
+     * @return {@link DateTimeFormatter}
+     * @throws IllegalArgumentException If the pattern is invalid.
+     */
+    public DateTimeFormatter get(String pattern) {
+        var formatter = formatters.get(pattern);
+        return formatter != null ? formatter : insert(pattern);
+    }
+
+    public Locale locale() {
+        return locale;
+    }
+
+    /**
+     * Gets the number of patterns kept.
+     *
+     * @return {@link Integer}
+     */
+    public int size() {
+        return formatters.size();
+    }
+
+    //-- Support methods
+
+    private synchronized DateTimeFormatter insert(String pattern) {
+        var formatter = formatters.get(pattern);
+        if (formatter != null)
+            return formatter;
+
+        formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        if (patterns.size() == maximumSize)
+            formatters.remove(patterns.remove());
+        formatters.put(pattern, formatter);
+        patterns.add(pattern);
+
+        return formatter;
+    }
+
+}
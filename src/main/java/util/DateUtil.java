@@ -4,18 +4,24 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
-import java.util.Calendar;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
 
-import static io.jsonwebtoken.lang.Strings.hasText;
 import static java.lang.Integer.parseInt;
-import static java.time.temporal.ChronoField.HOUR_OF_DAY;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.util.StringUtils.hasText;
 
 /**
  * Has the responsibility to make operations over dates.
@@ -24,9 +30,18 @@ public class DateUtil {
 
     private static final Logger log = getLogger(DateUtil.class);
 
-    private static final String GENERAL_PATTERN = "[M[/][-][.]d[/][-][.]yyyy[['T'][ ]H:m:s[.SSS][VV]]]" +
-            "[d[/][-][.]M[/][-][.]yyyy[['T'][ ]H:m:s[.SSS][VV]]]" +
-            "[yyyy[/][-][.]M[/][-][.]d[['T'][ ]H:m:s[.SSS][VV]]]";
+    // as lenient as the SimpleDateFormat it replaces: unpadded fields, out of range values roll over
+    private static final DateTimeFormatter LEGACY_DATE_FORMATTER = new DateTimeFormatterBuilder()
+            .parseLenient()
+            .appendPattern("yyyy-MM-dd")
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.LENIENT);
+
+    private static final int MAX_PATTERNS = 256;
+    private static final DateFormatterRegistry FORMATTERS =
+            new DateFormatterRegistry(MAX_PATTERNS, Locale.getDefault(Locale.Category.FORMAT));
+    private static final DateFormatterRegistry ENGLISH_FORMATTERS =
+            new DateFormatterRegistry(MAX_PATTERNS, Locale.ENGLISH);
 
     private DateUtil() {
     }
@@ -39,9 +54,14 @@ public class DateUtil {
      * @throws ParseException If the beginning of the specified String object cannot be parsed.
      */
     public static Date convert(String date) throws ParseException {
-        //todo sacar estos formatos de fecha del util
-        var format = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH);
-        return format.parse(date);
+        try {
+            var parsed = LocalDate.from(LEGACY_DATE_FORMATTER.parse(date, new ParsePosition(0)));
+            return Date.from(parsed.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException ex) {
+            throw new ParseException("Unparseable date: \"" + date + "\"", ex.getErrorIndex());
+        } catch (RuntimeException ex) {
+            throw new ParseException("Unparseable date: \"" + date + "\"", 0);
+        }
     }
 
     /**
@@ -52,8 +72,9 @@ public class DateUtil {
      * @return {@link Date}
      */
     public static @NotNull String format(Date date, String pattern) {
-        var format = new SimpleDateFormat(pattern, Locale.ENGLISH);
-        return format.format(date);
+        // getTime instead of toInstant, which java.sql.Date does not support
+        var dateTime = Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault());
+        return ENGLISH_FORMATTERS.get(pattern).format(dateTime);
     }
 
     /**
@@ -64,11 +85,17 @@ public class DateUtil {
      * @return {@link LocalDateTime}
      */
     public static @NotNull LocalDate parseToLocalDate(String date, String pattern) {
-        var formatter = new DateTimeFormatterBuilder()
-                .appendPattern(pattern)
-                .toFormatter();
+        return LocalDate.parse(date, FORMATTERS.get(pattern));
+    }
 
-        return LocalDate.parse(date, formatter);
+    /**
+     * Gets the shared formatter of the given pattern, in the default locale.
+     *
+     * @param pattern {@link String} The pattern, as accepted by {@link DateTimeFormatter#ofPattern(String)}.
+     * @return {@link DateTimeFormatter} A compiled formatter, built only once per pattern.
+     */
+    public static @NotNull DateTimeFormatter formatter(String pattern) {
+        return FORMATTERS.get(pattern);
     }
 
 
@@ -119,52 +146,111 @@ public class DateUtil {
      * @return {@link Integer}   The primitive integer. The number of years between first and last date.
      */
     public static int yearsDiff(Date init, Date end) {
-        var a = Calendar.getInstance();
-        var b = Calendar.getInstance();
-
-        a.setTime(init);
-        b.setTime(end);
+        var zone = TimeZone.getDefault();
+        var a = epochDay(init.getTime(), zone);
+        var b = epochDay(end.getTime(), zone);
 
-        var diff = b.get(Calendar.YEAR) - a.get(Calendar.YEAR);
+        var diff = EpochDays.year(b) - EpochDays.year(a);
 
-        if (a.get(Calendar.MONTH) > b.get(Calendar.MONTH) ||
-                (a.get(Calendar.MONTH) == b.get(Calendar.MONTH) && a.get(Calendar.DATE) > b.get(Calendar.DATE)))
+        var monthA = EpochDays.month(a);
+        var monthB = EpochDays.month(b);
+        if (monthA > monthB || (monthA == monthB && EpochDays.dayOfMonth(a) > EpochDays.dayOfMonth(b)))
             diff--;
 
         return diff;
     }
 
     /**
-     * Parse date in defined format.
+     * Gets number of complete years between two dates, see {@link EpochDays#yearsBetween(int, int)}.
+     *
+     * @param init {@link LocalDate} The init date, such as a birth date.
+     * @param end  {@link LocalDate} The end date.
+     * @return {@link Integer} The number of years, negative if the end is before the init.
+     */
+    public static int yearsDiff(LocalDate init, LocalDate end) {
+        return EpochDays.yearsBetween((int) init.toEpochDay(), (int) end.toEpochDay());
+    }
+
+    /**
+     * Parse date in defined format, see {@link GeneralDateParser}. Ambiguous dates are read month first.
      *
      * @param date {@link String} the date to be parsed
      *             dd(/-.)MM(/-.)yyyy [T] [h:m:s][zona]
      *             MM(/-.)dd(/-.)yyyy [T] [h:m:s][zona]
-     *             yyyy(/-.)dd(/-.)MM [T] [h:m:s][zona]
-     * @return {@link LocalDateTime}
+     *             yyyy(/-.)MM(/-.)dd [T] [h:m:s][zona]
+     * @return {@link LocalDateTime} The parsed date, or the current date time if it cannot be parsed.
      */
     public static @NotNull LocalDateTime parse(String date) {
-        try {
-            var formatter = new DateTimeFormatterBuilder()
-                    .appendPattern(GENERAL_PATTERN)
-                    .parseDefaulting(HOUR_OF_DAY, 0)
-                    .toFormatter();
-
-            return LocalDateTime.parse(date, formatter);
-        } catch (Exception e) {
-            log.error(e.getMessage());
+        var parsed = date != null
+                ? GeneralDateParser.MONTH_FIRST.parseLocalDateTime(date)
+                : null;
+        if (parsed != null)
+            return parsed;
 
-            return LocalDateTime.now();
-        }
+        log.error("Text '{}' could not be parsed", date);
+        return LocalDateTime.now();
     }
 
+    /**
+     * Parse date in defined format, see {@link #parse(String)}.
+     *
+     * @param date {@link String} the date to be parsed
+     * @return {@link LocalDate}
+     * @throws DateTimeParseException If the date cannot be parsed.
+     */
     public static @NotNull LocalDate parseLocalDate(String date) {
-        var formatter = new DateTimeFormatterBuilder()
-                .appendPattern(GENERAL_PATTERN)
-                .parseDefaulting(HOUR_OF_DAY, 0)
-                .toFormatter();
+        var result = new GeneralDateParser.Result();
+        if (!GeneralDateParser.MONTH_FIRST.parse(date, result))
+            throw new DateTimeParseException("Text '" + date + "' could not be parsed at index " +
+                    result.errorIndex(), date, result.errorIndex());
+
+        return result.toLocalDate();
+    }
+
+    //-- Column Operations
+
+    /**
+     * Parses a column of dates into epoch days with a single layout inferred from its first rows, see
+     * {@link DateColumnParser}. Columns without evidence of the layout are read month first, like {@link #parse(String)}.
+     *
+     * @param column {@link List} The dates to be parsed.
+     * @return {@link DateColumn} The number of days since 1970-01-01 of every row and the rows that failed.
+     */
+    public static @NotNull DateColumn parseEpochDays(List<? extends CharSequence> column) {
+        return DateColumnParser.MONTH_FIRST.epochDays(column);
+    }
+
+    public static @NotNull DateColumn parseEpochDays(String[] column) {
+        return DateColumnParser.MONTH_FIRST.epochDays(column);
+    }
+
+    public static @NotNull DateColumn parseEpochDays(Iterator<? extends CharSequence> column) {
+        return DateColumnParser.MONTH_FIRST.epochDays(column);
+    }
+
+    /**
+     * Parses a column of date times into epoch seconds with a single layout, see {@link #parseEpochDays(List)}.
+     *
+     * @param column {@link List} The date times to be parsed, in UTC unless they have a zone.
+     * @return {@link DateColumn} The number of seconds since 1970-01-01T00:00Z of every row and the rows that failed.
+     */
+    public static @NotNull DateColumn parseEpochSeconds(List<? extends CharSequence> column) {
+        return DateColumnParser.MONTH_FIRST.epochSeconds(column);
+    }
+
+    public static @NotNull DateColumn parseEpochSeconds(String[] column) {
+        return DateColumnParser.MONTH_FIRST.epochSeconds(column);
+    }
+
+    public static @NotNull DateColumn parseEpochSeconds(Iterator<? extends CharSequence> column) {
+        return DateColumnParser.MONTH_FIRST.epochSeconds(column);
+    }
+
+    //-- Support methods
 
-        return LocalDate.parse(date, formatter);
+    // the day of the instant in the given zone, as Calendar fields would read it
+    private static int epochDay(long epochMilli, TimeZone zone) {
+        return (int) Math.floorDiv(epochMilli + zone.getOffset(epochMilli), 86_400_000L);
     }
 
 }
@@ -0,0 +1,220 @@
+package util;
+
+import java.time.LocalDate;
+
+/**
+ * Date arithmetic over days since 1970-01-01 ({@link LocalDate#toEpochDay()}) kept as primitive ints.
+ * <p>
+ * The results are the same as the equivalent {@link LocalDate} operations in the proleptic ISO calendar, but no object
+ * is created, so whole portfolios can be scored with the array operations without a single date instance. The
+ * decomposition of a day into year, month and day of month is the civil from days algorithm by Howard Hinnant, which
+ * only uses integer arithmetic.
+ */
+public final class EpochDays {
+
+    // days from 0000-03-01 to 1970-01-01
+    private static final int EPOCH_SHIFT = 719_468;
+    private static final int DAYS_PER_ERA = 146_097;
+
+    private EpochDays() {
+    }
+
+    //-- Conversion Operations
+
+    /**
+     * Gets the epoch day of the given date, with the same arithmetic as {@link LocalDate#toEpochDay()}.
+     *
+     * @param year  {@link Integer} The year.
+     * @param month {@link Integer} The month, from 1 to 12.
+     * @param day   {@link Integer} The day of the month, not validated.
+     * @return {@link Integer} Days since 1970-01-01.
+     */
+    public static int of(int year, int month, int day) {
+        long y = year;
+        var total = 365 * y;
+        if (y >= 0)
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        else
+            total -= y / -4 - y / -100 + y / -400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year))
+                total--;
+        }
+
+        // days from 0000-01-01 to 1970-01-01
+        return (int) (total - 719_528);
+    }
+
+    public static int year(int epochDay) {
+        return civil(epochDay) >> 9;
+    }
+
+    public static int month(int epochDay) {
+        return civil(epochDay) >> 5 & 0xF;
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        return civil(epochDay) & 0x1F;
+    }
+
+    /**
+     * Gets the day of the week.
+     *
+     * @param epochDay {@link Integer} Days since 1970-01-01.
+     * @return {@link Integer} From 1 (monday) to 7 (sunday), as {@link java.time.DayOfWeek#getValue()}.
+     */
+    public static int dayOfWeek(int epochDay) {
+        // 1970-01-01 was a thursday
+        return Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    public static boolean isLeap(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    //-- Arithmetic Operations
+
+    /**
+     * Counts the complete months between two days, as {@link java.time.temporal.ChronoUnit#MONTHS}: a month is only
+     * complete once its day of the month is reached.
+     *
+     * @param startEpochDay {@link Integer} The start day.
+     * @param endEpochDay   {@link Integer} The end day.
+     * @return {@link Integer} The number of months, negative if the end is before the start.
+     */
+    public static int monthsBetween(int startEpochDay, int endEpochDay) {
+        return civilMonthsBetween(civil(startEpochDay), civil(endEpochDay));
+    }
+
+    /**
+     * Counts the complete years between two days, as {@link java.time.temporal.ChronoUnit#YEARS}, such as the age of a
+     * person at a reference date.
+     *
+     * @param startEpochDay {@link Integer} The start day.
+     * @param endEpochDay   {@link Integer} The end day.
+     * @return {@link Integer} The number of years, negative if the end is before the start.
+     */
+    public static int yearsBetween(int startEpochDay, int endEpochDay) {
+        return monthsBetween(startEpochDay, endEpochDay) / 12;
+    }
+
+    /**
+     * Adds months as {@link LocalDate#plusMonths(long)}: the day of the month is kept, or moved to the last day of a
+     * shorter month.
+     *
+     * @param epochDay {@link Integer} Days since 1970-01-01.
+     * @param months   {@link Integer} Months to add, may be negative.
+     * @return {@link Integer} The resulting epoch day.
+     */
+    public static int addMonths(int epochDay, int months) {
+        return civilAddMonths(civil(epochDay), months);
+    }
+
+    public static int addYears(int epochDay, int years) {
+        return civilAddMonths(civil(epochDay), years * 12);
+    }
+
+    public static int startOfMonth(int epochDay) {
+        return epochDay - dayOfMonth(epochDay) + 1;
+    }
+
+    public static int endOfMonth(int epochDay) {
+        var civil = civil(epochDay);
+        var year = civil >> 9;
+        var month = civil >> 5 & 0xF;
+
+        return epochDay - (civil & 0x1F) + lengthOfMonth(year, month);
+    }
+
+    //-- Array Operations
+
+    /**
+     * Counts the complete years between every start day and the same end day, such as the ages of a portfolio at a
+     * reference date. The end day is decomposed once.
+     *
+     * @param startEpochDays {@link Integer} The start days, such as birth dates.
+     * @param endEpochDay    {@link Integer} The end day, such as today.
+     * @param years          {@link Integer} Receives the years of each start day, in the same position.
+     */
+    public static void yearsBetween(int[] startEpochDays, int endEpochDay, int[] years) {
+        var end = civil(endEpochDay);
+        for (var i = 0; i < startEpochDays.length; i++)
+            years[i] = civilMonthsBetween(civil(startEpochDays[i]), end) / 12;
+    }
+
+    public static void monthsBetween(int[] startEpochDays, int endEpochDay, int[] months) {
+        var end = civil(endEpochDay);
+        for (var i = 0; i < startEpochDays.length; i++)
+            months[i] = civilMonthsBetween(civil(startEpochDays[i]), end);
+    }
+
+    /**
+     * Adds the same number of months to every day, see {@link #addMonths(int, int)}.
+     *
+     * @param epochDays {@link Integer} The days.
+     * @param months    {@link Integer} Months to add, may be negative.
+     * @param result    {@link Integer} Receives the resulting days, may be the given array.
+     */
+    public static void addMonths(int[] epochDays, int months, int[] result) {
+        for (var i = 0; i < epochDays.length; i++)
+            result[i] = civilAddMonths(civil(epochDays[i]), months);
+    }
+
+    public static void endOfMonth(int[] epochDays, int[] result) {
+        for (var i = 0; i < epochDays.length; i++)
+            result[i] = endOfMonth(epochDays[i]);
+    }
+
+    //-- Support methods
+
+    /**
+     * Decomposes the day into its fields, packed as {@code year << 9 | month << 5 | day}.
+     */
+    private static int civil(int epochDay) {
+        // eras of 400 years starting at march 1st, so the leap day is the last day of the year
+        var shifted = epochDay + EPOCH_SHIFT;
+        var era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        var dayOfEra = shifted - era * DAYS_PER_ERA;
+        var yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        var dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        var monthIndex = (5 * dayOfYear + 2) / 153;
+        var day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        var month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        var year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return year << 9 | month << 5 | day;
+    }
+
+    private static int civilMonthsBetween(int start, int end) {
+        // same packing as LocalDate#monthsUntil: proleptic month * 32 + day of month
+        var startPacked = prolepticMonth(start) * 32L + (start & 0x1F);
+        var endPacked = prolepticMonth(end) * 32L + (end & 0x1F);
+
+        return (int) ((endPacked - startPacked) / 32);
+    }
+
+    private static long prolepticMonth(int civil) {
+        return (civil >> 9) * 12L + (civil >> 5 & 0xF) - 1;
+    }
+
+    private static int civilAddMonths(int civil, int months) {
+        var monthCount = prolepticMonth(civil) + months;
+        var year = (int) Math.floorDiv(monthCount, 12);
+        var month = Math.floorMod(monthCount, 12) + 1;
+        var day = Math.min(civil & 0x1F, lengthOfMonth(year, month));
+
+        return of(year, month, day);
+    }
+
+}
@@ -0,0 +1,544 @@
+package util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Char-level parser of the layouts accepted by {@link DateUtil#parse(String)}: {@code M/d/yyyy}, {@code d/M/yyyy} and
+ * {@code yyyy/M/d}, with {@code /}, {@code -} or {@code .} as separators, optionally followed by a time
+ * ({@code 'T'} and/or a space, then {@code H:m:s}, an optional fraction of second and an optional zone).
+ * <p>
+ * The text is scanned once, between two offsets of any {@link CharSequence}, and the fields are stored as primitives
+ * in a reusable {@link Result}, so parsing allocates nothing unless the zone is a region id. A date whose first two
+ * fields can both be a month, like {@code 05/06/2022}, is ambiguous: it is resolved with the preferred layout of the
+ * parser and reported by {@link Result#isAmbiguous()}. A field greater than 12 decides the layout on its own, unless
+ * the parser is {@link #strict(Layout) strict}, in which case only its layout is accepted.
+ * <p>
+ * Days past the end of the month (up to 31) are moved to its last day and {@code 24:00:00} is the start of the next
+ * day, as the smart resolver of {@link java.time.format.DateTimeFormatter} does. The zone is only used by
+ * {@link Result#epochSecond()}; the local values are the ones written in the text.
+ */
+public final class GeneralDateParser {
+
+    /**
+     * Returned by the primitive operations when the text cannot be parsed.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Resolves ambiguous dates as {@code M/d/yyyy}, which is what {@link DateUtil#parse(String)} always did.
+     */
+    public static final GeneralDateParser MONTH_FIRST = new GeneralDateParser(Layout.MONTH_FIRST, false);
+    /**
+     * Resolves ambiguous dates as {@code d/M/yyyy}, the Brazilian layout.
+     */
+    public static final GeneralDateParser DAY_FIRST = new GeneralDateParser(Layout.DAY_FIRST, false);
+
+    private static final GeneralDateParser[] STRICT = {
+            new GeneralDateParser(Layout.MONTH_FIRST, true),
+            new GeneralDateParser(Layout.DAY_FIRST, true),
+            new GeneralDateParser(Layout.YEAR_FIRST, true)
+    };
+
+    static final int SECONDS_PER_DAY = 86_400;
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+
+    private final Layout preferred;
+    private final boolean strict;
+
+    private GeneralDateParser(Layout preferred, boolean strict) {
+        this.preferred = preferred;
+        this.strict = strict;
+    }
+
+    /**
+     * Gets the parser that only accepts the given layout, so that {@code 17/10/2022} is an invalid month first date
+     * instead of a day first one. Used once the layout of a whole column is known.
+     *
+     * @param layout {@link Layout} The only accepted layout.
+     * @return {@link GeneralDateParser} The shared strict parser.
+     */
+    public static GeneralDateParser strict(Layout layout) {
+        return STRICT[layout.ordinal()];
+    }
+
+    /**
+     * Order of the date fields.
+     */
+    public enum Layout {
+        MONTH_FIRST,
+        DAY_FIRST,
+        YEAR_FIRST
+    }
+
+    /**
+     * Gets the layout used for ambiguous dates.
+     *
+     * @return {@link Layout}
+     */
+    public Layout preferred() {
+        return preferred;
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * Parses the given range of the text.
+     *
+     * @param text   {@link CharSequence} The text holding the date.
+     * @param start  {@link Integer} The index of the first char of the date.
+     * @param end    {@link Integer} The index after the last char of the date.
+     * @param result {@link Result} Receives the fields, or the index of the error.
+     * @return {@link Boolean} <b>true</b> if the whole range is a valid date.
+     */
+    public boolean parse(CharSequence text, int start, int end, Result result) {
+        result.reset(start);
+        if (!parseDate(text, end, result))
+            return false;
+        if (result.index == end)
+            return true;
+
+        return parseTime(text, end, result) && parseZone(text, end, result) && result.complete(end);
+    }
+
+    public boolean parse(CharSequence text, Result result) {
+        return parse(text, 0, text.length(), result);
+    }
+
+    //-- Primitive Operations
+
+    /**
+     * Parses the given range of the text into the number of days since 1970-01-01, the time being validated and
+     * ignored. Loops should rather reuse a {@link Result}.
+     *
+     * @param text  {@link CharSequence} The text holding the date.
+     * @param start {@link Integer} The index of the first char of the date.
+     * @param end   {@link Integer} The index after the last char of the date.
+     * @return {@link Long} The epoch day, or {@link #INVALID}.
+     */
+    public long epochDay(CharSequence text, int start, int end) {
+        var result = new Result();
+        return parse(text, start, end, result)
+                ? result.epochDay()
+                : INVALID;
+    }
+
+    public long epochDay(CharSequence text) {
+        return epochDay(text, 0, text.length());
+    }
+
+    /**
+     * Parses the given range of the text into the number of seconds since 1970-01-01T00:00Z, using the zone of the
+     * text, or UTC when there is none. Loops should rather reuse a {@link Result}.
+     *
+     * @param text  {@link CharSequence} The text holding the date.
+     * @param start {@link Integer} The index of the first char of the date.
+     * @param end   {@link Integer} The index after the last char of the date.
+     * @return {@link Long} The epoch second, or {@link #INVALID}.
+     */
+    public long epochSecond(CharSequence text, int start, int end) {
+        var result = new Result();
+        return parse(text, start, end, result)
+                ? result.epochSecond()
+                : INVALID;
+    }
+
+    public long epochSecond(CharSequence text) {
+        return epochSecond(text, 0, text.length());
+    }
+
+    //-- java.time Operations
+
+    /**
+     * Parses the given text into a local date time, the time defaulting to midnight.
+     *
+     * @param text {@link CharSequence} The text holding the date.
+     * @return {@link LocalDateTime} The date time, or <b>null</b> if the text cannot be parsed.
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        var result = new Result();
+        return parse(text, 0, text.length(), result)
+                ? result.toLocalDateTime()
+                : null;
+    }
+
+    public LocalDate parseLocalDate(CharSequence text) {
+        var result = new Result();
+        return parse(text, 0, text.length(), result)
+                ? result.toLocalDate()
+                : null;
+    }
+
+    //-- Support methods
+
+    private boolean parseDate(CharSequence text, int end, Result result) {
+        var first = readNumber(text, end, result, 4);
+        var firstDigits = result.digits;
+        if (first < 0 || !readSeparator(text, end, result))
+            return false;
+        var second = readNumber(text, end, result, 2);
+        if (second < 0 || !readSeparator(text, end, result))
+            return false;
+
+        if (firstDigits == 4) {
+            if (strict && preferred != Layout.YEAR_FIRST)
+                return result.fail(result.start);
+            var day = readNumber(text, end, result, 2);
+            return day >= 0 && result.date(Layout.YEAR_FIRST, first, second, day, false);
+        }
+        if (firstDigits > 2)
+            return result.fail(result.index - firstDigits);
+        if (strict && preferred == Layout.YEAR_FIRST)
+            return result.fail(result.start);
+
+        var yearIndex = result.index;
+        var year = readNumber(text, end, result, 4);
+        if (year < 0 || result.digits != 4)
+            return result.fail(yearIndex);
+
+        if (strict)
+            return preferred == Layout.DAY_FIRST
+                    ? result.date(Layout.DAY_FIRST, year, second, first, false)
+                    : result.date(Layout.MONTH_FIRST, year, first, second, false);
+
+        // a field greater than 12 can only be the day
+        if (first > 12 && second <= 12)
+            return result.date(Layout.DAY_FIRST, year, second, first, false);
+        if (first <= 12 && second > 12)
+            return result.date(Layout.MONTH_FIRST, year, first, second, false);
+
+        var ambiguous = first != second;
+        return preferred == Layout.DAY_FIRST
+                ? result.date(Layout.DAY_FIRST, year, second, first, ambiguous)
+                : result.date(Layout.MONTH_FIRST, year, first, second, ambiguous);
+    }
+
+    private static boolean parseTime(CharSequence text, int end, Result result) {
+        var index = result.index;
+        if (text.charAt(index) == 'T')
+            index++;
+        if (index < end && text.charAt(index) == ' ')
+            index++;
+        // without a delimiter the day and the hour would run together
+        if (index == result.index)
+            return result.fail(index);
+        result.index = index;
+
+        var hour = readNumber(text, end, result, 2);
+        if (hour < 0 || !readChar(text, end, result, ':'))
+            return false;
+        var minute = readNumber(text, end, result, 2);
+        if (minute < 0 || !readChar(text, end, result, ':'))
+            return false;
+        var second = readNumber(text, end, result, 2);
+        if (second < 0)
+            return false;
+
+        var nano = 0;
+        if (result.index < end && text.charAt(result.index) == '.') {
+            result.index++;
+            var fraction = readNumber(text, end, result, 9);
+            if (fraction < 0)
+                return false;
+            nano = fraction;
+            for (var digits = result.digits; digits < 9; digits++)
+                nano *= 10;
+        }
+
+        return result.time(hour, minute, second, nano);
+    }
+
+    private static boolean parseZone(CharSequence text, int end, Result result) {
+        var index = result.index;
+        if (index == end)
+            return true;
+
+        var c = text.charAt(index);
+        if (c == 'Z' && index + 1 == end) {
+            result.index++;
+            result.offsetSeconds = 0;
+            return true;
+        }
+        if (c == '+' || c == '-')
+            return parseOffset(text, end, result, c == '-' ? -1 : 1);
+        if (!isLetter(c))
+            return result.fail(index);
+
+        // region ids are rare in imported data, so resolving them may allocate
+        try {
+            result.zone = ZoneId.of(text.subSequence(index, end).toString());
+            result.index = end;
+            return true;
+        } catch (DateTimeException ex) {
+            return result.fail(index);
+        }
+    }
+
+    private static boolean parseOffset(CharSequence text, int end, Result result, int sign) {
+        var start = result.index++;
+        var hours = readNumber(text, end, result, 2);
+        if (hours < 0 || result.digits != 2)
+            return result.fail(start);
+
+        var minutes = 0;
+        if (result.index < end) {
+            if (text.charAt(result.index) == ':')
+                result.index++;
+            minutes = readNumber(text, end, result, 2);
+            if (minutes < 0 || result.digits != 2)
+                return result.fail(start);
+        }
+        if (hours > 18 || minutes > 59 || hours == 18 && minutes > 0)
+            return result.fail(start);
+
+        result.offsetSeconds = sign * (hours * 3600 + minutes * 60);
+        return true;
+    }
+
+    /**
+     * Reads up to {@code maxDigits} digits, storing how many were read in {@link Result#digits}.
+     *
+     * @return The value, or -1 (with the error recorded) if there is no digit.
+     */
+    private static int readNumber(CharSequence text, int end, Result result, int maxDigits) {
+        var index = result.index;
+        var limit = Math.min(end, index + maxDigits);
+        var value = 0;
+        while (index < limit) {
+            var digit = text.charAt(index) - '0';
+            if (digit < 0 || digit > 9)
+                break;
+            value = value * 10 + digit;
+            index++;
+        }
+
+        result.digits = index - result.index;
+        if (result.digits == 0) {
+            result.fail(index);
+            return -1;
+        }
+        result.index = index;
+
+        return value;
+    }
+
+    private static boolean readSeparator(CharSequence text, int end, Result result) {
+        var index = result.index;
+        if (index < end) {
+            var c = text.charAt(index);
+            if (c == '/' || c == '-' || c == '.') {
+                result.index++;
+                return true;
+            }
+        }
+
+        return result.fail(index);
+    }
+
+    private static boolean readChar(CharSequence text, int end, Result result, char expected) {
+        var index = result.index;
+        if (index < end && text.charAt(index) == expected) {
+            result.index++;
+            return true;
+        }
+
+        return result.fail(index);
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * Mutable holder of the parsed fields, to be reused across calls by a single thread.
+     */
+    public static final class Result {
+
+        private int year;
+        private int month;
+        private int day;
+        private int hour;
+        private int minute;
+        private int second;
+        private int nano;
+        private boolean hasTime;
+        private int offsetSeconds;
+        private ZoneId zone;
+        private Layout layout;
+        private boolean ambiguous;
+        private int errorIndex;
+        // parsing state
+        private int start;
+        private int index;
+        private int digits;
+
+        public int year() {
+            return year;
+        }
+
+        public int month() {
+            return month;
+        }
+
+        public int day() {
+            return day;
+        }
+
+        public int hour() {
+            return hour;
+        }
+
+        public int minute() {
+            return minute;
+        }
+
+        public int second() {
+            return second;
+        }
+
+        public int nano() {
+            return nano;
+        }
+
+        public boolean hasTime() {
+            return hasTime;
+        }
+
+        public boolean hasZone() {
+            return offsetSeconds != NO_OFFSET || zone != null;
+        }
+
+        /**
+         * Gets the layout the date was read with.
+         *
+         * @return {@link Layout}
+         */
+        public Layout layout() {
+            return layout;
+        }
+
+        /**
+         * Tells if the day and the month could be swapped, in which case the preferred layout was applied.
+         *
+         * @return {@link Boolean}
+         */
+        public boolean isAmbiguous() {
+            return ambiguous;
+        }
+
+        /**
+         * Gets the index where the parse failed.
+         *
+         * @return {@link Integer} The index in the text, or -1 if the parse succeeded.
+         */
+        public int errorIndex() {
+            return errorIndex;
+        }
+
+        public long epochDay() {
+            return EpochDays.of(year, month, day);
+        }
+
+        public int secondOfDay() {
+            return hour * 3600 + minute * 60 + second;
+        }
+
+        /**
+         * Gets the instant as seconds since 1970-01-01T00:00Z, using the parsed zone or UTC when there is none.
+         *
+         * @return {@link Long}
+         */
+        public long epochSecond() {
+            var local = epochDay() * SECONDS_PER_DAY + secondOfDay();
+            if (zone != null)
+                return toLocalDateTime().atZone(zone).toEpochSecond();
+
+            return offsetSeconds != NO_OFFSET
+                    ? local - offsetSeconds
+                    : local;
+        }
+
+        public LocalDate toLocalDate() {
+            return LocalDate.of(year, month, day);
+        }
+
+        public LocalDateTime toLocalDateTime() {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        }
+
+        void reset(int start) {
+            year = 0;
+            month = 0;
+            day = 0;
+            hour = 0;
+            minute = 0;
+            second = 0;
+            nano = 0;
+            hasTime = false;
+            offsetSeconds = NO_OFFSET;
+            zone = null;
+            layout = null;
+            ambiguous = false;
+            errorIndex = -1;
+            this.start = start;
+            index = start;
+            digits = 0;
+        }
+
+        boolean fail(int index) {
+            errorIndex = index;
+            return false;
+        }
+
+        boolean date(Layout layout, int year, int month, int day, boolean ambiguous) {
+            if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31)
+                return fail(index);
+
+            this.layout = layout;
+            this.year = year;
+            this.month = month;
+            this.day = Math.min(day, EpochDays.lengthOfMonth(year, month));
+            this.ambiguous = ambiguous;
+            return true;
+        }
+
+        boolean time(int hour, int minute, int second, int nano) {
+            if (hour == 24 && minute == 0 && second == 0 && nano == 0) {
+                hour = 0;
+                nextDay();
+            }
+            if (hour > 23 || minute > 59 || second > 59)
+                return fail(index);
+
+            this.hour = hour;
+            this.minute = minute;
+            this.second = second;
+            this.nano = nano;
+            this.hasTime = true;
+            return true;
+        }
+
+        boolean complete(int end) {
+            return index == end || fail(index);
+        }
+
+        private void nextDay() {
+            if (day < EpochDays.lengthOfMonth(year, month)) {
+                day++;
+            } else if (month < 12) {
+                day = 1;
+                month++;
+            } else {
+                day = 1;
+                month = 1;
+                year++;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,264 @@
+package util.calendar;
+
+import util.EpochDays;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Business day calendar over days since 1970-01-01 ({@link LocalDate#toEpochDay()}), for due date shifting and day
+ * counts.
+ * <p>
+ * The holidays of every year between {@value #MIN_YEAR} and {@value #MAX_YEAR} are precomputed when the calendar is
+ * built, into two bitsets indexed by day: the business days and the holidays. The number of business days before each
+ * 64 days word is also kept, so {@link #isBusinessDay(int)} is a bit test, {@link #businessDaysBetween(int, int)} is
+ * two lookups and a pop count, and {@link #addBusinessDays(int, int)} a binary search over the words. Instances are
+ * immutable and thread-safe; dates outside of the range throw {@link DateTimeException}.
+ * <p>
+ * {@link #BRAZIL} holds the national holidays observed by the financial system, as in the ANBIMA calendar: the fixed
+ * national holidays, Carnival Monday and Tuesday, Good Friday and Corpus Christi. Municipal or state holidays are
+ * added with {@link #with(HolidayRule...)}.
+ */
+public final class BusinessCalendar {
+
+    public static final int MIN_YEAR = 1900;
+    public static final int MAX_YEAR = 2199;
+
+    private static final int FIRST_DAY = EpochDays.of(MIN_YEAR, 1, 1);
+    private static final int DAYS = EpochDays.of(MAX_YEAR + 1, 1, 1) - FIRST_DAY;
+
+    private static final List<HolidayRule> NATIONAL = List.of(
+            HolidayRule.fixed(1, 1),        // Confraternizacao Universal
+            HolidayRule.easter(-48),        // Carnaval (segunda-feira)
+            HolidayRule.easter(-47),        // Carnaval (terca-feira)
+            HolidayRule.easter(-2),         // Sexta-feira da Paixao
+            HolidayRule.fixed(4, 21),       // Tiradentes
+            HolidayRule.fixed(5, 1),        // Dia do Trabalho
+            HolidayRule.easter(60),         // Corpus Christi
+            HolidayRule.fixed(9, 7),        // Independencia
+            HolidayRule.fixed(10, 12, 1980), // Nossa Senhora Aparecida, Lei 6.802/1980
+            HolidayRule.fixed(11, 2),       // Finados
+            HolidayRule.fixed(11, 15),      // Proclamacao da Republica
+            HolidayRule.fixed(11, 20, 2024), // Consciencia Negra, Lei 14.759/2023
+            HolidayRule.fixed(12, 25)       // Natal
+    );
+
+    /**
+     * National holidays of Brazil observed by banks and the financial market.
+     */
+    public static final BusinessCalendar BRAZIL = new BusinessCalendar(NATIONAL);
+
+    private final List<HolidayRule> rules;
+    private final long[] businessDays;
+    private final long[] holidays;
+    // business days before each word, plus the total at the end
+    private final int[] ranks;
+
+    private BusinessCalendar(List<HolidayRule> rules) {
+        var words = (DAYS + 63) >>> 6;
+        this.rules = rules;
+        this.businessDays = new long[words];
+        this.holidays = new long[words];
+        this.ranks = new int[words + 1];
+
+        for (var index = 0; index < DAYS; index++)
+            if (!isWeekend(FIRST_DAY + index))
+                businessDays[index >>> 6] |= 1L << index;
+
+        for (var year = MIN_YEAR; year <= MAX_YEAR; year++)
+            for (var rule : rules)
+                for (var day : rule.epochDays(year)) {
+                    var index = day - FIRST_DAY;
+                    if (index < 0 || index >= DAYS)
+                        continue;
+                    holidays[index >>> 6] |= 1L << index;
+                    businessDays[index >>> 6] &= ~(1L << index);
+                }
+
+        for (var word = 0; word < words; word++)
+            ranks[word + 1] = ranks[word] + Long.bitCount(businessDays[word]);
+    }
+
+    /**
+     * Creates a calendar with only the given holidays (and the weekends).
+     *
+     * @param rules {@link HolidayRule} The holidays.
+     * @return {@link BusinessCalendar}
+     */
+    public static BusinessCalendar of(HolidayRule... rules) {
+        return new BusinessCalendar(List.of(rules));
+    }
+
+    /**
+     * Creates a calendar with the holidays of this one plus the given ones, such as the holidays of a city.
+     *
+     * @param rules {@link HolidayRule} The extra holidays.
+     * @return {@link BusinessCalendar} A new calendar; this one is not changed.
+     */
+    public BusinessCalendar with(HolidayRule... rules) {
+        var all = new ArrayList<>(this.rules);
+        all.addAll(Arrays.asList(rules));
+
+        return new BusinessCalendar(List.copyOf(all));
+    }
+
+    //-- Epoch Day Operations
+
+    public boolean isBusinessDay(int epochDay) {
+        var index = indexOf(epochDay);
+        return (businessDays[index >>> 6] & 1L << index) != 0L;
+    }
+
+    /**
+     * Checks if the given day is a holiday. Holidays on weekends are still holidays.
+     *
+     * @param epochDay {@link Integer} Days since 1970-01-01.
+     * @return {@link Boolean}
+     */
+    public boolean isHoliday(int epochDay) {
+        var index = indexOf(epochDay);
+        return (holidays[index >>> 6] & 1L << index) != 0L;
+    }
+
+    /**
+     * Counts the business days from the start (inclusive) to the end (exclusive).
+     *
+     * @param startEpochDay {@link Integer} First day, as days since 1970-01-01.
+     * @param endEpochDay   {@link Integer} Day after the last one, as days since 1970-01-01.
+     * @return {@link Integer} The number of business days, negative if the end is before the start.
+     */
+    public int businessDaysBetween(int startEpochDay, int endEpochDay) {
+        return rank(endEpochDay) - rank(startEpochDay);
+    }
+
+    /**
+     * Moves the given number of business days. Zero days returns the same day, even if it is not a business day.
+     *
+     * @param epochDay {@link Integer} Days since 1970-01-01.
+     * @param days     {@link Integer} Business days to move, backwards if negative.
+     * @return {@link Integer} The business day reached, as days since 1970-01-01.
+     */
+    public int addBusinessDays(int epochDay, int days) {
+        if (days > 0)
+            return select(rank(epochDay + 1) + days - 1);
+        if (days < 0)
+            return select(rank(epochDay) + days);
+
+        return epochDay;
+    }
+
+    /**
+     * Gets the given day if it is a business day, otherwise the next business day, which is how due dates falling on
+     * weekends and holidays are paid.
+     *
+     * @param epochDay {@link Integer} Days since 1970-01-01.
+     * @return {@link Integer} The business day, as days since 1970-01-01.
+     */
+    public int following(int epochDay) {
+        return select(rank(epochDay));
+    }
+
+    public int preceding(int epochDay) {
+        return select(rank(epochDay + 1) - 1);
+    }
+
+    /**
+     * Lists the holidays of the given year, including the ones on weekends.
+     *
+     * @param year {@link Integer} The year.
+     * @return {@link Integer} The holidays as days since 1970-01-01, in order.
+     */
+    public int[] holidays(int year) {
+        var start = indexOf(EpochDays.of(year, 1, 1));
+        var end = start + (EpochDays.isLeap(year) ? 366 : 365);
+        var days = new int[16];
+        var count = 0;
+
+        for (var index = start; index < end; index++)
+            if ((holidays[index >>> 6] & 1L << index) != 0L) {
+                if (count == days.length)
+                    days = Arrays.copyOf(days, count << 1);
+                days[count++] = FIRST_DAY + index;
+            }
+
+        return Arrays.copyOf(days, count);
+    }
+
+    //-- LocalDate Operations
+
+    public boolean isBusinessDay(LocalDate date) {
+        return isBusinessDay((int) date.toEpochDay());
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return isHoliday((int) date.toEpochDay());
+    }
+
+    public int businessDaysBetween(LocalDate start, LocalDate end) {
+        return businessDaysBetween((int) start.toEpochDay(), (int) end.toEpochDay());
+    }
+
+    public LocalDate addBusinessDays(LocalDate date, int days) {
+        return LocalDate.ofEpochDay(addBusinessDays((int) date.toEpochDay(), days));
+    }
+
+    public LocalDate following(LocalDate date) {
+        return LocalDate.ofEpochDay(following((int) date.toEpochDay()));
+    }
+
+    public LocalDate preceding(LocalDate date) {
+        return LocalDate.ofEpochDay(preceding((int) date.toEpochDay()));
+    }
+
+    //-- Support methods
+
+    private static boolean isWeekend(int epochDay) {
+        return EpochDays.dayOfWeek(epochDay) >= 6;
+    }
+
+    private static int indexOf(int epochDay) {
+        var index = epochDay - FIRST_DAY;
+        if (index < 0 || index >= DAYS)
+            throw new DateTimeException("Epoch day out of the calendar range (" + MIN_YEAR + "-" + MAX_YEAR + "): " +
+                    epochDay);
+
+        return index;
+    }
+
+    // business days before the given day, which may be the day after the range
+    private int rank(int epochDay) {
+        var index = epochDay - FIRST_DAY;
+        if (index == DAYS)
+            return ranks[ranks.length - 1];
+
+        indexOf(epochDay);
+        return ranks[index >>> 6] + Long.bitCount(businessDays[index >>> 6] & (1L << index) - 1L);
+    }
+
+    // the business day with the given number of business days before it
+    private int select(int rank) {
+        if (rank < 0 || rank >= ranks[ranks.length - 1])
+            throw new DateTimeException("Business day out of the calendar range (" + MIN_YEAR + "-" + MAX_YEAR + ")");
+
+        // the word holding it is the last one with at most rank business days before it
+        var low = 0;
+        var high = ranks.length - 2;
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+            if (ranks[middle] <= rank)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+
+        var word = businessDays[low];
+        for (var skip = rank - ranks[low]; skip > 0; skip--)
+            word &= word - 1;
+
+        return FIRST_DAY + (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+}
@@ -0,0 +1,104 @@
+package util.calendar;
+
+import util.EpochDays;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Source of the holidays of a year, used by {@link BusinessCalendar} when it precomputes its bitsets.
+ * <p>
+ * Rules are only called while a calendar is built, once per year of its range, so they are free to allocate.
+ * Municipal and state holidays are added as extra rules, see {@link BusinessCalendar#with(HolidayRule...)}.
+ */
+@FunctionalInterface
+public interface HolidayRule {
+
+    /**
+     * Gets the holidays of the given year.
+     *
+     * @param year {@link Integer} The year.
+     * @return {@link Integer} The holidays as days since 1970-01-01, empty if there is none in the year.
+     */
+    int[] epochDays(int year);
+
+    /**
+     * Creates the rule of a holiday on the same date every year.
+     *
+     * @param month {@link Integer} The month, from 1 to 12.
+     * @param day   {@link Integer} The day of the month.
+     * @return {@link HolidayRule}
+     */
+    static HolidayRule fixed(int month, int day) {
+        return fixed(month, day, BusinessCalendar.MIN_YEAR);
+    }
+
+    /**
+     * Creates the rule of a holiday on the same date every year, from the year it was instituted on.
+     *
+     * @param month {@link Integer} The month, from 1 to 12.
+     * @param day   {@link Integer} The day of the month.
+     * @param since {@link Integer} The first year of the holiday.
+     * @return {@link HolidayRule}
+     */
+    static HolidayRule fixed(int month, int day, int since) {
+        return year -> year >= since
+                ? new int[]{EpochDays.of(year, month, day)}
+                : new int[0];
+    }
+
+    /**
+     * Creates the rule of a holiday at a fixed distance from Easter Sunday, such as Carnival (-48 and -47 days), Good
+     * Friday (-2) and Corpus Christi (+60).
+     *
+     * @param offset {@link Integer} Days from Easter Sunday.
+     * @return {@link HolidayRule}
+     */
+    static HolidayRule easter(int offset) {
+        return year -> new int[]{easterSunday(year) + offset};
+    }
+
+    /**
+     * Creates the rule of holidays decreed for single dates.
+     *
+     * @param dates {@link LocalDate} The holidays.
+     * @return {@link HolidayRule}
+     */
+    static HolidayRule dates(LocalDate... dates) {
+        return year -> {
+            var days = new int[dates.length];
+            var count = 0;
+            for (var date : dates)
+                if (date.getYear() == year)
+                    days[count++] = (int) date.toEpochDay();
+
+            return Arrays.copyOf(days, count);
+        };
+    }
+
+    /**
+     * Gets Easter Sunday of the Gregorian calendar, with the anonymous (Meeus/Jones/Butcher) algorithm.
+     *
+     * @param year {@link Integer} The year.
+     * @return {@link Integer} Easter Sunday as days since 1970-01-01.
+     */
+    static int easterSunday(int year) {
+        var a = year % 19;
+        var b = year / 100;
+        var c = year % 100;
+        var d = b / 4;
+        var e = b % 4;
+        var f = (b + 8) / 25;
+        var g = (b - f + 1) / 3;
+        var h = (19 * a + b - d - g + 15) % 30;
+        var i = c / 4;
+        var k = c % 4;
+        var l = (32 + 2 * e + 2 * i - h - k) % 7;
+        var m = (a + 11 * h + 22 * l) / 451;
+        var month = (h + l - 7 * m + 114) / 31;
+        var day = (h + l - 7 * m + 114) % 31 + 1;
+
+        return EpochDays.of(year, month, day);
+    }
+
+}
@@ -0,0 +1,218 @@
+package util.cet;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static util.cet.AmortizationSystem.PRICE;
+import static util.cet.AmortizationSystem.SAC;
+
+/**
+ * Generates the installments of a loan amortized by the {@link AmortizationSystem#PRICE} or
+ * {@link AmortizationSystem#SAC} system.
+ * <p>
+ * Installments are produced one period at a time, so even a 420-month schedule never exists as a whole in memory.
+ * {@link #cursor()} walks the schedule over primitive fields without allocating; {@link #stream()} emits one
+ * {@link Installment} per period for callers that serialize the schedule, e.g. with
+ * {@code JsonSerdes.mapper().writeValue(out, schedule.stream().iterator())}.
+ * <p>
+ * Instances are immutable and can be walked any number of times.
+ */
+public final class Amortization {
+
+    private final AmortizationSystem system;
+    private final double principal;
+    private final double rate;
+    private final int term;
+    private final double fixedValue;
+
+    private Amortization(AmortizationSystem system, double principal, double rate, int term) {
+        Objects.requireNonNull(system, "system");
+        if (!(rate > -1D))
+            throw new IllegalArgumentException("rate must be greater than -100%: " + rate);
+        if (term < 1)
+            throw new IllegalArgumentException("term must be positive: " + term);
+
+        this.system = system;
+        this.principal = principal;
+        this.rate = rate;
+        this.term = term;
+        // fixed installment in PRICE, fixed amortization in SAC
+        this.fixedValue = system == PRICE
+                ? principal / DiscountFactors.annuity(rate, term)
+                : principal / term;
+    }
+
+    /**
+     * Creates a schedule.
+     *
+     * @param system    {@link AmortizationSystem} The amortization system.
+     * @param principal {@link Double} Financed value.
+     * @param rate      {@link Double} Rate per period, as a fraction.
+     * @param term      {@link Integer} Number of installments.
+     * @return {@link Amortization}
+     * @throws NullPointerException If the system is <b>null</b>.
+     */
+    public static Amortization of(AmortizationSystem system, double principal, double rate, int term) {
+        return new Amortization(system, principal, rate, term);
+    }
+
+    /**
+     * Creates a Price (French) schedule, with fixed installments.
+     *
+     * @param principal {@link Double} Financed value.
+     * @param rate      {@link Double} Rate per period, as a fraction.
+     * @param term      {@link Integer} Number of installments.
+     * @return {@link Amortization}
+     */
+    public static Amortization price(double principal, double rate, int term) {
+        return new Amortization(PRICE, principal, rate, term);
+    }
+
+    /**
+     * Creates a SAC schedule, with fixed amortization.
+     *
+     * @param principal {@link Double} Financed value.
+     * @param rate      {@link Double} Rate per period, as a fraction.
+     * @param term      {@link Integer} Number of installments.
+     * @return {@link Amortization}
+     */
+    public static Amortization sac(double principal, double rate, int term) {
+        return new Amortization(SAC, principal, rate, term);
+    }
+
+    public AmortizationSystem system() {
+        return system;
+    }
+
+    public double principal() {
+        return principal;
+    }
+
+    public double rate() {
+        return rate;
+    }
+
+    public int term() {
+        return term;
+    }
+
+    /**
+     * Gets the value of the first installment, which is the value of every installment in the Price system.
+     *
+     * @return {@link Double}
+     */
+    public double firstInstallment() {
+        return system == PRICE
+                ? fixedValue
+                : fixedValue + principal * rate;
+    }
+
+    /**
+     * Creates a cursor positioned before the first period.
+     *
+     * @return {@link Cursor}
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Creates a lazy, ordered stream of the installments.
+     *
+     * @return {@link Stream} One {@link Installment} per period, generated on demand.
+     */
+    public Stream<Installment> stream() {
+        var spliterator = new Spliterators.AbstractSpliterator<Installment>(term,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+
+            private final Cursor cursor = cursor();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Installment> action) {
+                if (!cursor.next())
+                    return false;
+
+                action.accept(cursor.toInstallment());
+                return true;
+            }
+
+        };
+
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Walks the schedule one period at a time, exposing the values of the current period as primitives.
+     */
+    public final class Cursor {
+
+        private int period;
+        private double installment;
+        private double interest;
+        private double amortization;
+        private double balance = principal;
+
+        private Cursor() {
+        }
+
+        /**
+         * Advances to the next period.
+         *
+         * @return {@link Boolean} True if there was a next period, false when the schedule is over.
+         */
+        public boolean next() {
+            if (period == term)
+                return false;
+
+            period++;
+            interest = balance * rate;
+            // the last period settles whatever rounding left in the balance
+            if (period == term)
+                amortization = balance;
+            else if (system == PRICE)
+                amortization = fixedValue - interest;
+            else
+                amortization = fixedValue;
+
+            installment = amortization + interest;
+            balance -= amortization;
+
+            return true;
+        }
+
+        public int period() {
+            return period;
+        }
+
+        public double installment() {
+            return installment;
+        }
+
+        public double interest() {
+            return interest;
+        }
+
+        public double amortization() {
+            return amortization;
+        }
+
+        public double balance() {
+            return balance;
+        }
+
+        /**
+         * Copies the current period into an {@link Installment}.
+         *
+         * @return {@link Installment}
+         */
+        public Installment toInstallment() {
+            return new Installment(period, installment, interest, amortization, balance);
+        }
+
+    }
+
+}
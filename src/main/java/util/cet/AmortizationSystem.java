@@ -0,0 +1,17 @@
+package util.cet;
+
+/**
+ * Amortization systems supported by {@link Amortization}.
+ */
+public enum AmortizationSystem {
+
+    /**
+     * Price (French) system: fixed installments, decreasing interest and increasing amortization.
+     */
+    PRICE,
+    /**
+     * Sistema de Amortizacao Constante: fixed amortization, decreasing interest and installments.
+     */
+    SAC
+
+}
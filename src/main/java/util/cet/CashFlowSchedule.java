@@ -0,0 +1,278 @@
+package util.cet;
+
+import util.calendar.BusinessCalendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Cash flow of a loan as seen by the borrower: the net value released at the contract date and the payments due
+ * after it.
+ * <p>
+ * The moment of each payment is kept as the number of days since the contract date in a primitive array, so the
+ * date arithmetic is done once when the schedule is built and never while solving its rate. Instances are immutable.
+ * <p>
+ * Besides the fixed installments of {@link #fixed(double, double, int, LocalDate, LocalDate)}, the {@link Builder}
+ * models fees charged at release, grace periods (a series of installments that starts later), balloon payments and
+ * variable installments. Any other shape, such as interest paid during the grace period, is built from
+ * {@link Builder#payment(LocalDate, double)} calls. With a {@link BusinessCalendar}, due dates falling on weekends and
+ * holidays are moved to the following business day before the days are counted.
+ */
+public final class CashFlowSchedule {
+
+    private final LocalDate contractDate;
+    private final double financedValue;
+    private final double releaseFees;
+    private final int[] days;
+    private final double[] amounts;
+
+    private CashFlowSchedule(LocalDate contractDate,
+                             double financedValue,
+                             double releaseFees,
+                             int[] days,
+                             double[] amounts) {
+        this.contractDate = contractDate;
+        this.financedValue = financedValue;
+        this.releaseFees = releaseFees;
+        this.days = days;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Creates the schedule of a loan paid with fixed monthly installments.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @param contractDate  {@link LocalDate} Contract date (release of the funds).
+     * @param firstDueDate  {@link LocalDate} Due date of the first installment. The next ones are due on the same
+     *                      day of the following months.
+     * @return {@link CashFlowSchedule}
+     */
+    public static CashFlowSchedule fixed(double financedValue,
+                                         double installment,
+                                         int term,
+                                         LocalDate contractDate,
+                                         LocalDate firstDueDate) {
+        return builder(contractDate, financedValue)
+                .monthly(firstDueDate, term, installment)
+                .build();
+    }
+
+    /**
+     * Creates the schedule of a loan paid with fixed monthly installments, paid on the following business day when
+     * a due date is not one.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @param contractDate  {@link LocalDate} Contract date (release of the funds).
+     * @param firstDueDate  {@link LocalDate} Due date of the first installment.
+     * @param calendar      {@link BusinessCalendar} Calendar the due dates are adjusted with.
+     * @return {@link CashFlowSchedule}
+     */
+    public static CashFlowSchedule fixed(double financedValue,
+                                         double installment,
+                                         int term,
+                                         LocalDate contractDate,
+                                         LocalDate firstDueDate,
+                                         BusinessCalendar calendar) {
+        return builder(contractDate, financedValue)
+                .businessDays(calendar)
+                .monthly(firstDueDate, term, installment)
+                .build();
+    }
+
+    /**
+     * Starts a schedule.
+     *
+     * @param contractDate  {@link LocalDate} Contract date (release of the funds).
+     * @param financedValue {@link Double} Financed value, before the fees charged at release.
+     * @return {@link Builder}
+     */
+    public static Builder builder(LocalDate contractDate, double financedValue) {
+        return new Builder(contractDate, financedValue);
+    }
+
+    public LocalDate contractDate() {
+        return contractDate;
+    }
+
+    public double financedValue() {
+        return financedValue;
+    }
+
+    public double releaseFees() {
+        return releaseFees;
+    }
+
+    /**
+     * Gets the value the borrower actually receives: the financed value minus the fees charged at release.
+     *
+     * @return {@link Double}
+     */
+    public double netReleased() {
+        return financedValue - releaseFees;
+    }
+
+    /**
+     * Gets the number of payments.
+     *
+     * @return {@link Integer}
+     */
+    public int size() {
+        return days.length;
+    }
+
+    /**
+     * Gets the number of days between the contract date and the given payment.
+     *
+     * @param index {@link Integer} Payment index, in the order the payments were added.
+     * @return {@link Integer}
+     */
+    public int day(int index) {
+        return days[index];
+    }
+
+    /**
+     * Gets the value of the given payment.
+     *
+     * @param index {@link Integer} Payment index, in the order the payments were added.
+     * @return {@link Double}
+     */
+    public double amount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Gets the sum of all payments.
+     *
+     * @return {@link Double}
+     */
+    public double totalPaid() {
+        var total = 0D;
+        for (var amount : amounts)
+            total += amount;
+
+        return total;
+    }
+
+    // raw views for the solver, never exposed
+    int[] days() {
+        return days;
+    }
+
+    double[] amounts() {
+        return amounts;
+    }
+
+    /**
+     * Builds a {@link CashFlowSchedule}. Payments can be added in any order and on the same date.
+     */
+    public static final class Builder {
+
+        private final LocalDate contractDate;
+        private final long contractEpochDay;
+        private final double financedValue;
+        private double releaseFees;
+        private BusinessCalendar calendar;
+        private int[] days = new int[16];
+        private double[] amounts = new double[16];
+        private int size;
+
+        private Builder(LocalDate contractDate, double financedValue) {
+            this.contractDate = contractDate;
+            this.contractEpochDay = contractDate.toEpochDay();
+            this.financedValue = financedValue;
+        }
+
+        /**
+         * Adds a fee charged at release (IOF, TAC, insurance). Fees reduce the value received by the borrower.
+         *
+         * @param value {@link Double} The fee value.
+         * @return {@link Builder}
+         */
+        public Builder fee(double value) {
+            releaseFees += value;
+            return this;
+        }
+
+        /**
+         * Moves the due dates added after this call that fall on weekends or holidays to the following business day.
+         * The dates of monthly series are computed first, so an adjusted installment does not shift the next ones.
+         *
+         * @param calendar {@link BusinessCalendar} The calendar, <b>null</b> to count calendar days only.
+         * @return {@link Builder}
+         */
+        public Builder businessDays(BusinessCalendar calendar) {
+            this.calendar = calendar;
+            return this;
+        }
+
+        /**
+         * Adds a single payment, such as a balloon payment.
+         *
+         * @param dueDate {@link LocalDate} Due date.
+         * @param amount  {@link Double} Value paid.
+         * @return {@link Builder}
+         */
+        public Builder payment(LocalDate dueDate, double amount) {
+            add(dayOf(dueDate), amount);
+            return this;
+        }
+
+        /**
+         * Adds a series of equal monthly installments. A grace period is modelled by starting the series later.
+         *
+         * @param firstDueDate {@link LocalDate} Due date of the first installment of the series.
+         * @param count        {@link Integer} Number of installments.
+         * @param amount       {@link Double} Value of each installment.
+         * @return {@link Builder}
+         */
+        public Builder monthly(LocalDate firstDueDate, int count, double amount) {
+            for (var j = 0; j < count; j++)
+                add(dayOf(firstDueDate.plusMonths(j)), amount);
+
+            return this;
+        }
+
+        /**
+         * Adds a series of monthly installments with variable values.
+         *
+         * @param firstDueDate {@link LocalDate} Due date of the first installment of the series.
+         * @param amounts      {@link Double} Value of each installment, in due date order.
+         * @return {@link Builder}
+         */
+        public Builder monthly(LocalDate firstDueDate, double... amounts) {
+            for (var j = 0; j < amounts.length; j++)
+                add(dayOf(firstDueDate.plusMonths(j)), amounts[j]);
+
+            return this;
+        }
+
+        public CashFlowSchedule build() {
+            return new CashFlowSchedule(contractDate, financedValue, releaseFees,
+                    Arrays.copyOf(days, size), Arrays.copyOf(amounts, size));
+        }
+
+        private int dayOf(LocalDate dueDate) {
+            var dueDay = (int) dueDate.toEpochDay();
+            if (calendar != null)
+                dueDay = calendar.following(dueDay);
+
+            return (int) (dueDay - contractEpochDay);
+        }
+
+        private void add(int day, double amount) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size << 1);
+                amounts = Arrays.copyOf(amounts, size << 1);
+            }
+
+            days[size] = day;
+            amounts[size++] = amount;
+        }
+
+    }
+
+}
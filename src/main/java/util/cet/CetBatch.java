@@ -0,0 +1,142 @@
+package util.cet;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates the CET of many loans at once.
+ * <p>
+ * The loans are given as columns of primitive arrays, where index {@code i} of every array describes the same loan,
+ * and the rates are written into a caller supplied array. The work is split across the cores of a
+ * {@link ForkJoinPool} and no object is allocated per loan, so a whole portfolio can be priced without pressuring
+ * the garbage collector.
+ */
+public final class CetBatch {
+
+    /**
+     * Number of loans below which a task stops splitting and solves its slice sequentially.
+     */
+    static final int THRESHOLD = 1024;
+
+    private CetBatch() {
+    }
+
+    /**
+     * Calculates the monthly CET of every loan using the common pool and {@link CetSolver#DEFAULT}.
+     *
+     * @param financedValues {@link Double} Net financed value of each loan.
+     * @param installments   {@link Double} Fixed installment value of each loan.
+     * @param terms          {@link Integer} Number of monthly installments of each loan.
+     * @param rates          {@link Double} Output array. Receives the monthly rate of each loan as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     */
+    public static void monthly(double[] financedValues, double[] installments, int[] terms, double[] rates) {
+        monthly(financedValues, installments, terms, rates, CetSolver.DEFAULT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculates the monthly CET of every loan.
+     *
+     * @param financedValues {@link Double} Net financed value of each loan.
+     * @param installments   {@link Double} Fixed installment value of each loan.
+     * @param terms          {@link Integer} Number of monthly installments of each loan.
+     * @param rates          {@link Double} Output array. Receives the monthly rate of each loan as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     * @param solver         {@link CetSolver} The solver configuration.
+     * @param pool           {@link ForkJoinPool} The pool that runs the calculation.
+     */
+    public static void monthly(double[] financedValues,
+                               double[] installments,
+                               int[] terms,
+                               double[] rates,
+                               CetSolver solver,
+                               ForkJoinPool pool) {
+        var length = financedValues.length;
+        if (installments.length != length || terms.length != length)
+            throw new IllegalArgumentException("input columns must have the same length");
+        if (rates.length < length)
+            throw new IllegalArgumentException("output column is shorter than the input");
+
+        if (length <= THRESHOLD)
+            solveMonthly(financedValues, installments, terms, rates, solver, 0, length);
+        else
+            pool.invoke(new MonthlyTask(financedValues, installments, terms, rates, solver, 0, length));
+    }
+
+    /**
+     * Calculates the fixed installment that yields the given monthly rate for every term of a grid. The inverse of
+     * the CET is closed, so each term costs a single annuity factor.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param monthlyRate   {@link Double} Target monthly rate, as a fraction.
+     * @param terms         {@link Integer} Number of monthly installments of each grid point.
+     * @param installments  {@link Double} Output array. Receives the installment of each term.
+     * @throws IllegalArgumentException If a term is not positive; nothing is written in that case.
+     */
+    public static void installments(double financedValue, double monthlyRate, int[] terms, double[] installments) {
+        if (installments.length < terms.length)
+            throw new IllegalArgumentException("output column is shorter than the input");
+        for (var term : terms)
+            if (term < 1)
+                throw new IllegalArgumentException("number of installments must be positive: " + term);
+
+        for (var i = 0; i < terms.length; i++)
+            installments[i] = financedValue / DiscountFactors.annuity(monthlyRate, terms[i]);
+    }
+
+    private static void solveMonthly(double[] financedValues,
+                                     double[] installments,
+                                     int[] terms,
+                                     double[] rates,
+                                     CetSolver solver,
+                                     int from,
+                                     int to) {
+        var annuity = new CetSolver.Annuity();
+
+        for (var i = from; i < to; i++)
+            rates[i] = solver.monthlyRate(annuity, financedValues[i], installments[i], terms[i]);
+    }
+
+    private static final class MonthlyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] financedValues;
+        private final double[] installments;
+        private final int[] terms;
+        private final double[] rates;
+        private final CetSolver solver;
+        private final int from;
+        private final int to;
+
+        MonthlyTask(double[] financedValues,
+                    double[] installments,
+                    int[] terms,
+                    double[] rates,
+                    CetSolver solver,
+                    int from,
+                    int to) {
+            this.financedValues = financedValues;
+            this.installments = installments;
+            this.terms = terms;
+            this.rates = rates;
+            this.solver = solver;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                solveMonthly(financedValues, installments, terms, rates, solver, from, to);
+                return;
+            }
+
+            var middle = (from + to) >>> 1;
+            invokeAll(new MonthlyTask(financedValues, installments, terms, rates, solver, from, middle),
+                    new MonthlyTask(financedValues, installments, terms, rates, solver, middle, to));
+        }
+
+    }
+
+}
@@ -0,0 +1,258 @@
+package util.cet;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memoizing cache in front of {@link CetSolver}, for callers that quote the same loans over and over.
+ * <p>
+ * Keys are primitives: monetary values are quantized to a fixed step (cents by default) so that doubles that only
+ * differ by noise share an entry, and the rate is always solved from the quantized values, so every caller that
+ * maps to an entry gets the same answer. Dates are keyed by their epoch day.
+ * <p>
+ * The table is set-associative: a key can only live in one of {@value #WAYS} slots chosen by its hash, and a full set
+ * evicts its least recently used entry. Reads never lock; they scan the set and compare the key fields of immutable
+ * entries. Concurrent misses on the same key may both solve it, which is harmless.
+ */
+public final class CetCache {
+
+    static final int WAYS = 4;
+    public static final double DEFAULT_QUANTUM = 0.01;
+
+    private static final byte MONTHLY = 0;
+    private static final byte ANNUAL = 1;
+
+    private final CetSolver solver;
+    private final double quantum;
+    private final AtomicReferenceArray<Entry> slots;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // advanced on every insertion and read racily on hits; lost updates only blur the recency order
+    private int clock;
+
+    /**
+     * Creates a cache using {@link CetSolver#DEFAULT} and a quantum of one cent.
+     *
+     * @param maximumSize {@link Integer} Maximum number of entries, rounded up to a power of two.
+     */
+    public CetCache(int maximumSize) {
+        this(maximumSize, DEFAULT_QUANTUM, CetSolver.DEFAULT);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize {@link Integer} Maximum number of entries, rounded up to a power of two.
+     * @param quantum     {@link Double} Step monetary values are rounded to before keying and solving.
+     * @param solver      {@link CetSolver} The solver used on misses.
+     */
+    public CetCache(int maximumSize, double quantum, CetSolver solver) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("maximumSize must be positive");
+        if (!(quantum > 0D))
+            throw new IllegalArgumentException("quantum must be positive");
+
+        var sets = 1;
+        while (sets < (maximumSize + WAYS - 1) / WAYS)
+            sets <<= 1;
+
+        this.solver = solver;
+        this.quantum = quantum;
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+    }
+
+    /**
+     * Gets the monthly CET, solving it only on a miss.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @return {@link CetResult} The monthly rate and the solver status.
+     */
+    public CetResult monthly(double financedValue, double installment, int term) {
+        var value = quantize(financedValue);
+        var parcel = quantize(installment);
+        var cached = lookup(MONTHLY, value, parcel, term, 0L, 0L);
+        if (cached != null)
+            return cached;
+
+        var result = solver.monthly(value * quantum, parcel * quantum, term);
+        store(MONTHLY, value, parcel, term, 0L, 0L, result);
+
+        return result;
+    }
+
+    /**
+     * Gets the annual CET of fixed monthly installments, solving it only on a miss.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @param contractDate  {@link LocalDate} Contract date (release of the funds).
+     * @param firstDueDate  {@link LocalDate} Due date of the first installment.
+     * @return {@link CetResult} The annual rate and the solver status.
+     */
+    public CetResult annual(double financedValue,
+                            double installment,
+                            int term,
+                            LocalDate contractDate,
+                            LocalDate firstDueDate) {
+        var value = quantize(financedValue);
+        var parcel = quantize(installment);
+        var contractDay = contractDate.toEpochDay();
+        var firstDueDay = firstDueDate.toEpochDay();
+        var cached = lookup(ANNUAL, value, parcel, term, contractDay, firstDueDay);
+        if (cached != null)
+            return cached;
+
+        var schedule = CashFlowSchedule.fixed(value * quantum, parcel * quantum, term, contractDate, firstDueDate);
+        var result = solver.xirr(schedule);
+        store(ANNUAL, value, parcel, term, contractDay, firstDueDay, result);
+
+        return result;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     *
+     * @return {@link Double} A value between 0 and 1, or 0 if there was no lookup yet.
+     */
+    public double hitRate() {
+        var hit = hits.sum();
+        var total = hit + misses.sum();
+
+        return total == 0L
+                ? 0D
+                : (double) hit / total;
+    }
+
+    /**
+     * Gets the maximum number of entries.
+     *
+     * @return {@link Integer}
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Removes every entry. Counters are kept.
+     */
+    public void clear() {
+        for (var i = 0; i < slots.length(); i++)
+            slots.set(i, null);
+    }
+
+    //-- Support methods
+
+    private long quantize(double value) {
+        return Math.round(value / quantum);
+    }
+
+    private CetResult lookup(byte kind, long value, long parcel, int term, long contractDay, long firstDueDay) {
+        var base = setOf(kind, value, parcel, term, contractDay, firstDueDay);
+
+        for (var way = 0; way < WAYS; way++) {
+            var entry = slots.getAcquire(base + way);
+            if (entry != null && entry.matches(kind, value, parcel, term, contractDay, firstDueDay)) {
+                // skip the write when already current, so hot entries do not keep dirtying their cache line
+                var now = clock;
+                if (entry.lastAccess != now)
+                    entry.lastAccess = now;
+                hits.increment();
+                return entry.result;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    private void store(byte kind,
+                       long value,
+                       long parcel,
+                       int term,
+                       long contractDay,
+                       long firstDueDay,
+                       CetResult result) {
+        var base = setOf(kind, value, parcel, term, contractDay, firstDueDay);
+        var victim = base;
+        var oldest = Integer.MIN_VALUE;
+
+        for (var way = 0; way < WAYS; way++) {
+            var entry = slots.getAcquire(base + way);
+            if (entry == null) {
+                victim = base + way;
+                break;
+            }
+            // measured as a difference so the order survives the clock wrapping around
+            var age = clock - entry.lastAccess;
+            if (age > oldest) {
+                oldest = age;
+                victim = base + way;
+            }
+        }
+
+        var entry = new Entry(kind, value, parcel, term, contractDay, firstDueDay, result);
+        entry.lastAccess = ++clock;
+        slots.setRelease(victim, entry);
+    }
+
+    private int setOf(byte kind, long value, long parcel, int term, long contractDay, long firstDueDay) {
+        long hash = kind;
+        hash = hash * 0x9E3779B97F4A7C15L + value;
+        hash = hash * 0x9E3779B97F4A7C15L + parcel;
+        hash = hash * 0x9E3779B97F4A7C15L + term;
+        hash = hash * 0x9E3779B97F4A7C15L + contractDay;
+        hash = hash * 0x9E3779B97F4A7C15L + firstDueDay;
+        hash ^= hash >>> 29;
+
+        return ((int) hash & setMask) * WAYS;
+    }
+
+    private static final class Entry {
+
+        private final byte kind;
+        private final long value;
+        private final long parcel;
+        private final int term;
+        private final long contractDay;
+        private final long firstDueDay;
+        private final CetResult result;
+        private int lastAccess;
+
+        Entry(byte kind,
+              long value,
+              long parcel,
+              int term,
+              long contractDay,
+              long firstDueDay,
+              CetResult result) {
+            this.kind = kind;
+            this.value = value;
+            this.parcel = parcel;
+            this.term = term;
+            this.contractDay = contractDay;
+            this.firstDueDay = firstDueDay;
+            this.result = result;
+        }
+
+        boolean matches(byte kind, long value, long parcel, int term, long contractDay, long firstDueDay) {
+            return this.value == value && this.parcel == parcel && this.term == term &&
+                    this.kind == kind && this.contractDay == contractDay && this.firstDueDay == firstDueDay;
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+package util.cet;
+
+import java.time.LocalDate;
+
+import static java.lang.Math.pow;
+import static util.cet.CetSolver.DAYS_PER_YEAR;
+
+/**
+ * Calculates a whole simulation table of CETs, with one row per term and one column per financed value.
+ * <p>
+ * The cells are solved in a single pass. Each solve starts from the root of its left neighbour (or, for the first
+ * column, of the cell above), which is usually a couple of Newton steps away, and the day offsets of the annual
+ * table are computed once for the longest term and shared by every row as a prefix.
+ * <p>
+ * Installments and rates are laid out row by row in flat arrays: the cell of term {@code terms[row]} and value
+ * {@code financedValues[column]} is at index {@code row * financedValues.length + column}.
+ */
+public final class CetGrid {
+
+    private CetGrid() {
+    }
+
+    /**
+     * Calculates the monthly CET table using {@link CetSolver#DEFAULT}.
+     *
+     * @param financedValues {@link Double} Net financed value of each column.
+     * @param terms          {@link Integer} Number of monthly installments of each row.
+     * @param installments   {@link Double} Fixed installment of each cell.
+     * @param rates          {@link Double} Output array. Receives the monthly rate of each cell as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     */
+    public static void monthly(double[] financedValues, int[] terms, double[] installments, double[] rates) {
+        monthly(financedValues, terms, installments, rates, CetSolver.DEFAULT);
+    }
+
+    /**
+     * Calculates the monthly CET table.
+     *
+     * @param financedValues {@link Double} Net financed value of each column.
+     * @param terms          {@link Integer} Number of monthly installments of each row.
+     * @param installments   {@link Double} Fixed installment of each cell.
+     * @param rates          {@link Double} Output array. Receives the monthly rate of each cell as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     * @param solver         {@link CetSolver} The solver configuration.
+     */
+    public static void monthly(double[] financedValues,
+                               int[] terms,
+                               double[] installments,
+                               double[] rates,
+                               CetSolver solver) {
+        checkLayout(financedValues, terms, installments, rates);
+
+        var columns = financedValues.length;
+        var annuity = new CetSolver.Annuity();
+        var above = Double.NaN;
+
+        for (var row = 0; row < terms.length; row++) {
+            var term = terms[row];
+            var guess = above;
+
+            for (var column = 0; column < columns; column++) {
+                var cell = row * columns + column;
+                var financedValue = financedValues[column];
+                var installment = installments[cell];
+
+                if (Double.isNaN(guess))
+                    guess = CetSolver.annuityGuess(financedValue, installment, term);
+
+                var rate = solver.monthlyRate(annuity, financedValue, installment, term, guess);
+                rates[cell] = rate;
+                guess = rate;
+
+                if (column == 0)
+                    above = rate;
+            }
+        }
+    }
+
+    /**
+     * Calculates the annual CET table using {@link CetSolver#DEFAULT}.
+     *
+     * @param financedValues {@link Double} Net financed value of each column.
+     * @param terms          {@link Integer} Number of monthly installments of each row.
+     * @param installments   {@link Double} Fixed installment of each cell.
+     * @param contractDate   {@link LocalDate} Contract date (release of the funds).
+     * @param firstDueDate   {@link LocalDate} Due date of the first installment.
+     * @param rates          {@link Double} Output array. Receives the annual rate of each cell as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     */
+    public static void annual(double[] financedValues,
+                              int[] terms,
+                              double[] installments,
+                              LocalDate contractDate,
+                              LocalDate firstDueDate,
+                              double[] rates) {
+        annual(financedValues, terms, installments, contractDate, firstDueDate, rates, CetSolver.DEFAULT);
+    }
+
+    /**
+     * Calculates the annual CET table.
+     *
+     * @param financedValues {@link Double} Net financed value of each column.
+     * @param terms          {@link Integer} Number of monthly installments of each row.
+     * @param installments   {@link Double} Fixed installment of each cell.
+     * @param contractDate   {@link LocalDate} Contract date (release of the funds).
+     * @param firstDueDate   {@link LocalDate} Due date of the first installment.
+     * @param rates          {@link Double} Output array. Receives the annual rate of each cell as a fraction, or
+     *                       {@link Double#NaN} when the rate cannot be calculated.
+     * @param solver         {@link CetSolver} The solver configuration.
+     */
+    public static void annual(double[] financedValues,
+                              int[] terms,
+                              double[] installments,
+                              LocalDate contractDate,
+                              LocalDate firstDueDate,
+                              double[] rates,
+                              CetSolver solver) {
+        checkLayout(financedValues, terms, installments, rates);
+
+        var maxTerm = 0;
+        for (var term : terms)
+            maxTerm = Math.max(maxTerm, term);
+
+        // every row is a prefix of the longest schedule
+        var days = CashFlowSchedule.fixed(0D, 1D, maxTerm, contractDate, firstDueDate).days();
+        var daySums = new long[maxTerm + 1];
+        for (var k = 0; k < maxTerm; k++)
+            daySums[k + 1] = daySums[k] + days[k];
+
+        var columns = financedValues.length;
+        var prefix = new CetSolver.FixedPrefix(days);
+        var above = Double.NaN;
+
+        for (var row = 0; row < terms.length; row++) {
+            var term = terms[row];
+            var guess = above;
+
+            for (var column = 0; column < columns; column++) {
+                var cell = row * columns + column;
+                var financedValue = financedValues[column];
+                var installment = installments[cell];
+
+                if (Double.isNaN(guess) && term > 0 && daySums[term] > 0)
+                    guess = pow(installment * term / financedValue, DAYS_PER_YEAR * term / daySums[term]) - 1.0;
+
+                var rate = solver.prefixRate(prefix, financedValue, installment, Math.max(term, 0), guess);
+                rates[cell] = rate;
+                guess = rate;
+
+                if (column == 0)
+                    above = rate;
+            }
+        }
+    }
+
+    private static void checkLayout(double[] financedValues, int[] terms, double[] installments, double[] rates) {
+        var cells = (long) financedValues.length * terms.length;
+        if (installments.length != cells || rates.length < cells)
+            throw new IllegalArgumentException("installments and rates must have one cell per term and value");
+    }
+
+}
@@ -0,0 +1,52 @@
+package util.cet;
+
+import java.math.BigDecimal;
+
+import static java.math.RoundingMode.HALF_UP;
+import static util.cet.SolverStatus.CONVERGED;
+
+/**
+ * Result of a CET calculation.
+ *
+ * @param rate       The effective rate per period as a fraction (0.0199 means 1.99%).
+ * @param status     How the solver finished.
+ * @param iterations Number of iterations spent by the solver.
+ */
+public record CetResult(double rate, SolverStatus status, int iterations) {
+
+    /**
+     * Creates a result for a calculation that could not start or could not find a root.
+     *
+     * @param status {@link SolverStatus} The failure status.
+     * @return {@link CetResult}
+     */
+    public static CetResult failure(SolverStatus status) {
+        return new CetResult(Double.NaN, status, 0);
+    }
+
+    /**
+     * Checks if the solver reached the requested tolerance.
+     *
+     * @return {@link Boolean} True if the rate can be trusted, false otherwise.
+     */
+    public boolean converged() {
+        return status == CONVERGED;
+    }
+
+    /**
+     * Gets the rate as a percentage rounded to three decimal places, the same representation returned by
+     * {@link util.Cet#monthly(double, double, int)}.
+     *
+     * @return {@link Double} The rounded percentage, or {@link Double#NaN} when there is no rate.
+     */
+    public double percent() {
+        if (Double.isNaN(rate))
+            return Double.NaN;
+
+        return BigDecimal
+                .valueOf(rate * 100.0)
+                .setScale(3, HALF_UP)
+                .doubleValue();
+    }
+
+}
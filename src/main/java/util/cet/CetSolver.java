@@ -0,0 +1,399 @@
+package util.cet;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.exp;
+import static java.lang.Math.expm1;
+import static java.lang.Math.log1p;
+import static java.lang.Math.pow;
+import static util.cet.DiscountFactors.ZERO_RATE;
+import static util.cet.SolverStatus.CONVERGED;
+import static util.cet.SolverStatus.INVALID_INPUT;
+import static util.cet.SolverStatus.MAX_ITERATIONS;
+import static util.cet.SolverStatus.NOT_BRACKETED;
+
+/**
+ * Finds the effective rate that makes the present value of a series of installments equal to the financed value.
+ * <p>
+ * The search is a safeguarded Newton iteration: the derivative of the present value is computed analytically, the
+ * root is always kept inside a bracket and any Newton step that would leave it is replaced by a bisection step. It
+ * converges quadratically near the root and never needs more than {@code maxIterations} evaluations.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class CetSolver {
+
+    /**
+     * Lowest admissible rate per period.
+     */
+    public static final double MIN_RATE = -0.9999;
+    /**
+     * Highest admissible rate per period (1.000.000%).
+     */
+    public static final double MAX_RATE = 10000.00;
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    public static final double DAYS_PER_YEAR = 365.0;
+
+    /**
+     * Solver used by {@link util.Cet}.
+     */
+    public static final CetSolver DEFAULT = new CetSolver(DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+
+    private final double tolerance;
+    private final int maxIterations;
+
+    /**
+     * Creates a solver.
+     *
+     * @param tolerance     {@link Double} Absolute tolerance of the rate, as a fraction.
+     * @param maxIterations {@link Integer} Maximum number of present value evaluations.
+     */
+    public CetSolver(double tolerance, int maxIterations) {
+        if (!(tolerance > 0D))
+            throw new IllegalArgumentException("tolerance must be positive");
+        if (maxIterations < 1)
+            throw new IllegalArgumentException("maxIterations must be positive");
+
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    public double tolerance() {
+        return tolerance;
+    }
+
+    public int maxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Solves the monthly rate of a loan paid with fixed installments, the first one due one month after release.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @return {@link CetResult} The monthly rate and the solver status.
+     */
+    public CetResult monthly(double financedValue, double installment, int term) {
+        if (!isValid(financedValue, installment) || term < 1)
+            return CetResult.failure(INVALID_INPUT);
+
+        return solve(new Annuity(financedValue, installment, term), annuityGuess(financedValue, installment, term));
+    }
+
+    /**
+     * Solves the monthly rate of a loan paid with fixed installments starting the search from the given rate. A
+     * good guess, such as the rate of a similar loan, saves iterations.
+     *
+     * @param financedValue {@link Double} Net financed value.
+     * @param installment   {@link Double} Fixed installment value.
+     * @param term          {@link Integer} Number of monthly installments.
+     * @param guess         {@link Double} Initial rate estimate, as a fraction.
+     * @return {@link CetResult} The monthly rate and the solver status.
+     */
+    public CetResult monthly(double financedValue, double installment, int term, double guess) {
+        if (!isValid(financedValue, installment) || term < 1)
+            return CetResult.failure(INVALID_INPUT);
+
+        return solve(new Annuity(financedValue, installment, term), guess);
+    }
+
+    /**
+     * Solves the annual effective rate (XIRR) of an arbitrary schedule, counting the moment of each payment in
+     * calendar days over a 365-day year.
+     *
+     * @param schedule {@link CashFlowSchedule} The released value and the payments.
+     * @return {@link CetResult} The annual rate and the solver status.
+     */
+    public CetResult xirr(CashFlowSchedule schedule) {
+        var net = schedule.netReleased();
+        var days = schedule.days();
+        var amounts = schedule.amounts();
+        if (!(net > 0D) || days.length == 0)
+            return CetResult.failure(INVALID_INPUT);
+
+        var total = 0D;
+        var weightedDays = 0D;
+        for (var k = 0; k < days.length; k++) {
+            if (!Double.isFinite(amounts[k]))
+                return CetResult.failure(INVALID_INPUT);
+
+            total += amounts[k];
+            weightedDays += amounts[k] * days[k];
+        }
+
+        // compound growth of the total paid over the value weighted average term
+        var years = weightedDays / total / DAYS_PER_YEAR;
+        var guess = total > 0D && years > 0D
+                ? pow(total / net, 1.0 / years) - 1.0
+                : 0D;
+
+        return solve(new Scheduled(net, days, amounts), guess);
+    }
+
+    //-- Support methods
+
+    private CetResult solve(PresentValue pv, double guess) {
+        var rate = root(pv, guess);
+
+        return Double.isNaN(rate)
+                ? CetResult.failure(pv.status)
+                : new CetResult(rate, pv.status, pv.iterations);
+    }
+
+    /**
+     * Solves the monthly rate reusing the given evaluator, without allocating.
+     *
+     * @return The monthly rate, or {@link Double#NaN} when the solver did not converge.
+     */
+    double monthlyRate(Annuity annuity, double financedValue, double installment, int term) {
+        return monthlyRate(annuity, financedValue, installment, term, annuityGuess(financedValue, installment, term));
+    }
+
+    /**
+     * Solves the monthly rate reusing the given evaluator and starting from the given guess, without allocating.
+     *
+     * @return The monthly rate, or {@link Double#NaN} when the solver did not converge.
+     */
+    double monthlyRate(Annuity annuity, double financedValue, double installment, int term, double guess) {
+        if (!isValid(financedValue, installment) || term < 1) {
+            annuity.status = INVALID_INPUT;
+            return Double.NaN;
+        }
+
+        annuity.reset(financedValue, installment, term);
+        return convergedRoot(annuity, guess);
+    }
+
+    /**
+     * Solves the annual rate of the first {@code count} payments of a shared day offset array, reusing the given
+     * evaluator and starting from the given guess, without allocating.
+     *
+     * @return The annual rate, or {@link Double#NaN} when the solver did not converge.
+     */
+    double prefixRate(FixedPrefix prefix, double financedValue, double installment, int count, double guess) {
+        if (!isValid(financedValue, installment) || count < 1) {
+            prefix.status = INVALID_INPUT;
+            return Double.NaN;
+        }
+
+        prefix.reset(financedValue, installment, count);
+        return convergedRoot(prefix, guess);
+    }
+
+    private double convergedRoot(PresentValue pv, double guess) {
+        var rate = root(pv, guess);
+
+        return pv.status == CONVERGED
+                ? rate
+                : Double.NaN;
+    }
+
+    private double root(PresentValue pv, double guess) {
+        var lo = MIN_RATE;
+        var hi = MAX_RATE;
+        var rate = guess > lo && guess < hi
+                ? guess
+                : lo + (hi - lo) / 2;
+
+        pv.status = CONVERGED;
+        pv.iterations = 1;
+        var f = pv.value(rate);
+        var slope = pv.slope;
+        if (f == 0D)
+            return rate;
+
+        // the present value decreases with the rate, so the root lies between the guess and the end of the interval
+        // where the present value has the opposite sign; only that end needs to be checked
+        var bracketed = f > 0D
+                ? pv.value(hi) < 0D
+                : f < 0D && pv.value(lo) > 0D;
+        if (!bracketed) {
+            pv.status = NOT_BRACKETED;
+            return Double.NaN;
+        }
+
+        if (f > 0D)
+            lo = rate;
+        else
+            hi = rate;
+
+        for (var i = 2; i <= maxIterations; i++) {
+            var next = rate - f / slope;
+            // also rejects NaN steps from a vanishing derivative
+            if (!(next > lo && next < hi))
+                next = lo + (hi - lo) / 2;
+
+            if (abs(next - rate) <= tolerance || hi - lo <= tolerance)
+                return next;
+
+            rate = next;
+            f = pv.value(rate);
+            slope = pv.slope;
+            pv.iterations = i;
+            if (f == 0D)
+                return rate;
+
+            if (f > 0D)
+                lo = rate;
+            else
+                hi = rate;
+        }
+
+        pv.status = MAX_ITERATIONS;
+        return rate;
+    }
+
+    static double annuityGuess(double financedValue, double installment, int term) {
+        var total = installment * term;
+        if (total <= financedValue)
+            return 0D;
+
+        // simple interest over the average term, capped by the perpetuity rate
+        return Math.min(2.0 * (total - financedValue) / (financedValue * (term + 1.0)), installment / financedValue);
+    }
+
+    private static boolean isValid(double financedValue, double installment) {
+        return financedValue > 0D && installment > 0D &&
+                Double.isFinite(financedValue) && Double.isFinite(installment);
+    }
+
+    /**
+     * Present value of the cash flow minus the financed value, together with its derivative with respect to the
+     * rate. An instance is confined to one thread, so the derivative and the solver outcome are kept in fields
+     * instead of being returned in new objects.
+     */
+    abstract static class PresentValue {
+
+        double slope;
+        SolverStatus status;
+        int iterations;
+
+        abstract double value(double rate);
+
+    }
+
+    static final class Annuity extends PresentValue {
+
+        private double financedValue;
+        private double installment;
+        private int term;
+
+        Annuity() {
+        }
+
+        Annuity(double financedValue, double installment, int term) {
+            reset(financedValue, installment, term);
+        }
+
+        void reset(double financedValue, double installment, int term) {
+            this.financedValue = financedValue;
+            this.installment = installment;
+            this.term = term;
+        }
+
+        @Override
+        double value(double rate) {
+            if (abs(rate) < ZERO_RATE) {
+                slope = -installment * term * (term + 1.0) / 2.0;
+                return installment * term - financedValue;
+            }
+
+            // a(r) = (1 - (1 + r)^-n) / r  and  a'(r) = (n (1 + r)^-(n + 1) - a(r)) / r
+            var exponent = -term * log1p(rate);
+            var annuity = -expm1(exponent) / rate;
+            slope = installment * (term * exp(exponent) / (1.0 + rate) - annuity) / rate;
+
+            return installment * annuity - financedValue;
+        }
+
+    }
+
+    private static final class Scheduled extends PresentValue {
+
+        private final double netReleased;
+        private final int[] days;
+        private final double[] amounts;
+
+        Scheduled(double netReleased, int[] days, double[] amounts) {
+            this.netReleased = netReleased;
+            this.days = days;
+            this.amounts = amounts;
+        }
+
+        @Override
+        double value(double rate) {
+            var logBasePerDay = log1p(rate) / DAYS_PER_YEAR;
+            var sum = 0D;
+            var weighted = 0D;
+
+            for (var k = 0; k < days.length; k++) {
+                var discounted = amounts[k] * exp(-days[k] * logBasePerDay);
+                sum += discounted;
+                weighted += days[k] * discounted;
+            }
+
+            slope = -weighted / DAYS_PER_YEAR / (1.0 + rate);
+
+            return sum - netReleased;
+        }
+
+    }
+
+    /**
+     * Fixed installments due on the first {@code count} days of a shared, ascending day offset array. Consecutive
+     * monthly due dates are 28 to 31 days apart, so each evaluation computes one power per distinct gap and chains
+     * the discount factors by multiplication instead of computing one power per installment.
+     */
+    static final class FixedPrefix extends PresentValue {
+
+        private final int[] days;
+        private final int minGap;
+        private final double[] gapFactors;
+        private double financedValue;
+        private double installment;
+        private int count;
+
+        FixedPrefix(int[] days) {
+            var min = Integer.MAX_VALUE;
+            var max = 0;
+            for (var k = 1; k < days.length; k++) {
+                min = Math.min(min, days[k] - days[k - 1]);
+                max = Math.max(max, days[k] - days[k - 1]);
+            }
+
+            this.days = days;
+            this.minGap = Math.min(min, max);
+            this.gapFactors = new double[max - minGap + 1];
+        }
+
+        void reset(double financedValue, double installment, int count) {
+            this.financedValue = financedValue;
+            this.installment = installment;
+            this.count = count;
+        }
+
+        @Override
+        double value(double rate) {
+            var logBasePerDay = log1p(rate) / DAYS_PER_YEAR;
+            for (var g = 0; g < gapFactors.length; g++)
+                gapFactors[g] = exp(-(minGap + g) * logBasePerDay);
+
+            var factor = exp(-days[0] * logBasePerDay);
+            var sum = factor;
+            var weighted = days[0] * factor;
+
+            for (var k = 1; k < count; k++) {
+                factor *= gapFactors[days[k] - days[k - 1] - minGap];
+                sum += factor;
+                weighted += days[k] * factor;
+            }
+
+            slope = -installment * weighted / DAYS_PER_YEAR / (1.0 + rate);
+
+            return installment * sum - financedValue;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package util.cet;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.exp;
+import static java.lang.Math.expm1;
+import static java.lang.Math.log1p;
+import static util.cet.CetSolver.DAYS_PER_YEAR;
+
+/**
+ * Discount and annuity factors shared by the CET calculations.
+ * <p>
+ * Powers are computed as {@code exp(n * log1p(rate))}, which keeps full precision for the small rates of consumer
+ * loans, and the annuity factor falls back to its limit when the rate is zero.
+ */
+public final class DiscountFactors {
+
+    // below this absolute rate the closed annuity formula loses precision and its limit at zero is used
+    static final double ZERO_RATE = 1e-9;
+
+    private DiscountFactors() {
+    }
+
+    /**
+     * Gets the value today of 1 paid after the given number of periods.
+     *
+     * @param rate    {@link Double} Rate per period, as a fraction.
+     * @param periods {@link Double} Number of periods.
+     * @return {@link Double} {@code (1 + rate)^-periods}
+     */
+    public static double discount(double rate, double periods) {
+        return exp(-periods * log1p(rate));
+    }
+
+    /**
+     * Gets the value today of 1 paid at the end of each of the given number of periods.
+     *
+     * @param rate {@link Double} Rate per period, as a fraction.
+     * @param term {@link Integer} Number of periods.
+     * @return {@link Double} {@code (1 - (1 + rate)^-term) / rate}
+     */
+    public static double annuity(double rate, int term) {
+        if (abs(rate) < ZERO_RATE)
+            return term;
+
+        return -expm1(-term * log1p(rate)) / rate;
+    }
+
+    /**
+     * Fills the annuity factors of every term from 1 to {@code factors.length}, each one obtained from the previous
+     * by adding a single discount factor.
+     *
+     * @param rate    {@link Double} Rate per period, as a fraction.
+     * @param factors {@link Double} Output array. Index {@code i} receives the factor of term {@code i + 1}.
+     */
+    public static void annuities(double rate, double[] factors) {
+        var ratio = 1.0 / (1.0 + rate);
+        var discount = 1D;
+        var cumulative = 0D;
+
+        for (var i = 0; i < factors.length; i++) {
+            discount *= ratio;
+            cumulative += discount;
+            factors[i] = cumulative;
+        }
+    }
+
+    /**
+     * Gets the value today of the payments of a schedule, counting days over a 365-day year.
+     *
+     * @param annualRate {@link Double} Annual effective rate, as a fraction.
+     * @param schedule   {@link CashFlowSchedule} The payments.
+     * @return {@link Double} The sum of the discounted payments (the released value is not included).
+     */
+    public static double presentValue(double annualRate, CashFlowSchedule schedule) {
+        var logBasePerDay = log1p(annualRate) / DAYS_PER_YEAR;
+        var days = schedule.days();
+        var amounts = schedule.amounts();
+        var sum = 0D;
+
+        for (var k = 0; k < days.length; k++)
+            sum += amounts[k] * exp(-days[k] * logBasePerDay);
+
+        return sum;
+    }
+
+}
@@ -0,0 +1,14 @@
+package util.cet;
+
+/**
+ * One period of an amortization schedule. Values are not rounded.
+ *
+ * @param period       Period number, starting at 1.
+ * @param installment  Value paid in the period: interest plus amortization.
+ * @param interest     Interest accrued on the outstanding balance.
+ * @param amortization Part of the installment that reduces the balance.
+ * @param balance      Outstanding balance after the payment.
+ */
+public record Installment(int period, double installment, double interest, double amortization, double balance) {
+
+}
@@ -0,0 +1,25 @@
+package util.cet;
+
+/**
+ * Outcome of a {@link CetSolver} run.
+ */
+public enum SolverStatus {
+
+    /**
+     * The root was found within the configured tolerance.
+     */
+    CONVERGED,
+    /**
+     * The iteration budget was exhausted before reaching the tolerance. The reported rate is the best estimate.
+     */
+    MAX_ITERATIONS,
+    /**
+     * The cash flow has no sign change inside the admissible rate interval, so there is no rate to report.
+     */
+    NOT_BRACKETED,
+    /**
+     * The input values cannot describe a loan (non-positive value, installment or term).
+     */
+    INVALID_INPUT
+
+}
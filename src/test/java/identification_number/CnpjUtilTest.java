@@ -0,0 +1,92 @@
+package identification_number;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CnpjUtilTest {
+
+    private static final String[] VALID = {"11222333000181", "11.222.333/0001-81", "11444777000161",
+            "11.444.777/0001-61", "12ABC34501DE35", "12.ABC.345/01DE-35"};
+    private static final String[] INVALID = {"11222333000182", "11.222.333/0001-80", "11111111111111",
+            "11.111.111/1111-11", "00000000000000", "1122233300018", "112223330001810", "", "12abc34501de35",
+            "12ABC34501DE3A", "12ABC34501D E35"};
+    private static final String[] MALFORMED_MASKS = {".11-222//333000181", "11.222.333.0001-81", "11222333/0001-81",
+            "11.222.333/000181", "11-222-333/0001-81", "11.222.333/0001-81 ", " 11.222.333/0001-81"};
+
+    //-- Validation
+
+    @Test
+    void acceptsValidValuesRawAndMasked() {
+        for (var cnpj : VALID)
+            assertTrue(CnpjUtil.validate(cnpj), cnpj);
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertFalse(CnpjUtil.validate((String) null));
+        for (var cnpj : INVALID)
+            assertFalse(CnpjUtil.validate(cnpj), cnpj);
+    }
+
+    @Test
+    void rejectsSeparatorsOutsideTheMask() {
+        for (var cnpj : MALFORMED_MASKS)
+            assertFalse(CnpjUtil.validate(cnpj), cnpj);
+    }
+
+    @Test
+    void validatesRangesOfTextAndBytes() {
+        var text = "cnpj=11.222.333/0001-81;";
+        var bytes = text.getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(CnpjUtil.validate(text, 5, 23));
+        assertFalse(CnpjUtil.validate(text, 5, 24));
+        assertTrue(CnpjUtil.validate(bytes, 5, 18));
+        assertFalse(CnpjUtil.validate(bytes, 4, 18));
+    }
+
+    //-- Bulk Operations
+
+    @Test
+    void validatesColumns() {
+        var column = new String[]{VALID[0], INVALID[0], null, VALID[1], MALFORMED_MASKS[0]};
+        var expected = bits(0, 3);
+
+        assertEquals(expected, CnpjUtil.validate(column));
+        assertEquals(expected, CnpjUtil.validate(Arrays.asList(column)));
+    }
+
+    @Test
+    void validatesLines() {
+        var data = "11222333000181\r\n11222333000182\n\n12.ABC.345/01DE-35".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(bits(0, 3), CnpjUtil.validateLines(data, 0, data.length));
+        assertEquals(bits(0), CnpjUtil.validateLines(data, data.length - 18, 18));
+        assertEquals(new BitSet(), CnpjUtil.validateLines(data, 16, 15));
+    }
+
+    //-- Formatting
+
+    @Test
+    void formatsRawValues() {
+        assertEquals("11.222.333/0001-81", CnpjUtil.format("11222333000181"));
+    }
+
+    //-- Support methods
+
+    private static BitSet bits(int... rows) {
+        var bits = new BitSet();
+        for (var row : rows)
+            bits.set(row);
+
+        return bits;
+    }
+
+}
@@ -0,0 +1,104 @@
+package identification_number;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfUtilTest {
+
+    private static final String[] VALID = {"52998224725", "529.982.247-25", "11144477735", "111.444.777-35"};
+    private static final String[] INVALID = {"52998224726", "529.982.247-24", "11111111111", "111.111.111-11",
+            "00000000000", "5299822472", "529982247250", "", "5299822472A", "52998224725 ", " 52998224725"};
+    private static final String[] MALFORMED_MASKS = {"529982247-25", "529.982.247.25", "529-982-247-25",
+            "529.982.24725", ".52998224725", "529.982.247-25 "};
+
+    //-- Validation
+
+    @Test
+    void acceptsValidValuesRawAndMasked() {
+        for (var cpf : VALID)
+            assertTrue(CpfUtil.validate(cpf), cpf);
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertFalse(CpfUtil.validate((String) null));
+        for (var cpf : INVALID)
+            assertFalse(CpfUtil.validate(cpf), cpf);
+    }
+
+    @Test
+    void rejectsSeparatorsOutsideTheMask() {
+        for (var cpf : MALFORMED_MASKS)
+            assertFalse(CpfUtil.validate(cpf), cpf);
+    }
+
+    @Test
+    void validatesRangesOfTextAndBytes() {
+        var text = "cpf=529.982.247-25;";
+        var bytes = text.getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(CpfUtil.validate(text, 4, 18));
+        assertFalse(CpfUtil.validate(text, 4, 19));
+        assertTrue(CpfUtil.validate(bytes, 4, 14));
+        assertFalse(CpfUtil.validate(bytes, 3, 14));
+    }
+
+    //-- Bulk Operations
+
+    @Test
+    void validatesColumns() {
+        var column = new String[]{VALID[0], INVALID[0], null, VALID[1], MALFORMED_MASKS[0]};
+        var expected = bits(0, 3);
+
+        assertEquals(expected, CpfUtil.validate(column));
+        assertEquals(expected, CpfUtil.validate(Arrays.asList(column)));
+    }
+
+    @Test
+    void validatesLines() {
+        var data = "52998224725\r\n52998224726\n\n111.444.777-35".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(bits(0, 3), CpfUtil.validateLines(data, 0, data.length));
+        assertEquals(bits(0), CpfUtil.validateLines(data, 0, 11));
+    }
+
+    //-- Formatting
+
+    @Test
+    void normalizesToElevenDigits() {
+        assertEquals("52998224725", CpfUtil.normalize("529.982.247-25"));
+        assertEquals("52998224725", CpfUtil.normalize("52998224725"));
+        assertEquals("01234567890", CpfUtil.normalize("1234567890"));
+        assertNull(CpfUtil.normalize("529.982.247/25"));
+        assertNull(CpfUtil.normalize("529982247250"));
+        assertNull(CpfUtil.normalize("..-"));
+        assertNull(CpfUtil.normalize(null));
+    }
+
+    @Test
+    void formatsElevenDigitValues() {
+        assertEquals("529.982.247-25", CpfUtil.format("52998224725"));
+        assertEquals("529.982.247-25", CpfUtil.format("529.982.247-25"));
+        assertEquals("5299822472", CpfUtil.format("5299822472"));
+        assertEquals("5299822472A", CpfUtil.format("5299822472A"));
+    }
+
+    //-- Support methods
+
+    private static BitSet bits(int... rows) {
+        var bits = new BitSet();
+        for (var row : rows)
+            bits.set(row);
+
+        return bits;
+    }
+
+}
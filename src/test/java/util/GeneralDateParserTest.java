@@ -0,0 +1,223 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.GeneralDateParser.DAY_FIRST;
+import static util.GeneralDateParser.INVALID;
+import static util.GeneralDateParser.Layout;
+import static util.GeneralDateParser.MONTH_FIRST;
+
+class GeneralDateParserTest {
+
+    private static final LocalDate DATE = LocalDate.of(2022, 10, 17);
+
+    //-- Layouts
+
+    @Test
+    void readsEveryLayoutAndSeparator() {
+        for (var separator : new String[]{"/", "-", "."}) {
+            assertDate(DATE, Layout.MONTH_FIRST, "10" + separator + "17" + separator + "2022");
+            assertDate(DATE, Layout.DAY_FIRST, "17" + separator + "10" + separator + "2022");
+            assertDate(DATE, Layout.YEAR_FIRST, "2022" + separator + "10" + separator + "17");
+        }
+    }
+
+    @Test
+    void readsUnpaddedFields() {
+        assertDate(LocalDate.of(2022, 1, 2), Layout.MONTH_FIRST, "1/2/2022");
+        assertDate(LocalDate.of(2022, 1, 2), Layout.YEAR_FIRST, "2022-1-2");
+        assertDate(LocalDate.of(2022, 1, 20), Layout.DAY_FIRST, "20/1/2022");
+    }
+
+    @Test
+    void readsDayFirstWhenTheFirstFieldCannotBeAMonth() {
+        var result = new GeneralDateParser.Result();
+
+        assertTrue(MONTH_FIRST.parse("17/10/2022", result));
+        assertEquals(DATE, result.toLocalDate());
+        assertEquals(Layout.DAY_FIRST, result.layout());
+        assertFalse(result.isAmbiguous());
+    }
+
+    @Test
+    void resolvesAmbiguousDatesWithThePreferredLayout() {
+        var result = new GeneralDateParser.Result();
+
+        assertTrue(MONTH_FIRST.parse("05/06/2022", result));
+        assertEquals(LocalDate.of(2022, 5, 6), result.toLocalDate());
+        assertEquals(Layout.MONTH_FIRST, result.layout());
+        assertTrue(result.isAmbiguous());
+
+        assertTrue(DAY_FIRST.parse("05/06/2022", result));
+        assertEquals(LocalDate.of(2022, 6, 5), result.toLocalDate());
+        assertEquals(Layout.DAY_FIRST, result.layout());
+        assertTrue(result.isAmbiguous());
+
+        // swapping equal fields gives the same date
+        assertTrue(MONTH_FIRST.parse("05/05/2022", result));
+        assertFalse(result.isAmbiguous());
+    }
+
+    @Test
+    void strictParsersOnlyAcceptTheirLayout() {
+        assertEquals(INVALID, GeneralDateParser.strict(Layout.MONTH_FIRST).epochDay("17/10/2022"));
+        assertEquals(LocalDate.of(2022, 10, 5).toEpochDay(),
+                GeneralDateParser.strict(Layout.MONTH_FIRST).epochDay("10/05/2022"));
+        assertEquals(LocalDate.of(2022, 5, 10).toEpochDay(),
+                GeneralDateParser.strict(Layout.DAY_FIRST).epochDay("10/05/2022"));
+        assertEquals(INVALID, GeneralDateParser.strict(Layout.DAY_FIRST).epochDay("2022-10-17"));
+        assertEquals(INVALID, GeneralDateParser.strict(Layout.YEAR_FIRST).epochDay("10/17/2022"));
+        assertEquals(DATE.toEpochDay(), GeneralDateParser.strict(Layout.YEAR_FIRST).epochDay("2022-10-17"));
+    }
+
+    @Test
+    void movesDaysPastTheEndOfTheMonthToItsLastDay() {
+        assertDate(LocalDate.of(2022, 2, 28), Layout.YEAR_FIRST, "2022-02-31");
+        assertDate(LocalDate.of(2024, 2, 29), Layout.YEAR_FIRST, "2024-02-30");
+    }
+
+    //-- Times
+
+    @Test
+    void readsTimesAfterTheDate() {
+        var expected = LocalDateTime.of(2022, 10, 17, 14, 35, 2);
+
+        assertEquals(expected, MONTH_FIRST.parseLocalDateTime("2022-10-17T14:35:02"));
+        assertEquals(expected, MONTH_FIRST.parseLocalDateTime("2022-10-17 14:35:02"));
+        assertEquals(expected, MONTH_FIRST.parseLocalDateTime("2022-10-17T 14:35:02"));
+        assertEquals(expected, MONTH_FIRST.parseLocalDateTime("10/17/2022 14:35:02"));
+        assertEquals(expected, MONTH_FIRST.parseLocalDateTime("17.10.2022T14:35:02"));
+        assertEquals(DATE.atStartOfDay(), MONTH_FIRST.parseLocalDateTime("2022-10-17"));
+    }
+
+    @Test
+    void readsFractionsOfSecond() {
+        assertEquals(500_000_000, MONTH_FIRST.parseLocalDateTime("2022-10-17T14:35:02.5").getNano());
+        assertEquals(123_456_789, MONTH_FIRST.parseLocalDateTime("2022-10-17T14:35:02.123456789").getNano());
+    }
+
+    @Test
+    void readsMidnightAtTheEndOfTheDayAsTheNextDay() {
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 0), MONTH_FIRST.parseLocalDateTime("2022-12-31T24:00:00"));
+        assertEquals(LocalDateTime.of(2022, 3, 1, 0, 0), MONTH_FIRST.parseLocalDateTime("2022-02-28T24:00:00"));
+    }
+
+    //-- Zones
+
+    @Test
+    void readsZoneSuffixes() {
+        var utc = LocalDateTime.of(2022, 10, 17, 14, 35, 2).toEpochSecond(ZoneOffset.UTC);
+
+        assertEquals(utc, MONTH_FIRST.epochSecond("2022-10-17T14:35:02"));
+        assertEquals(utc, MONTH_FIRST.epochSecond("2022-10-17T14:35:02Z"));
+        assertEquals(utc - 3 * 3600, MONTH_FIRST.epochSecond("2022-10-17T14:35:02+03:00"));
+        assertEquals(utc + 3 * 3600, MONTH_FIRST.epochSecond("2022-10-17T14:35:02-0300"));
+        assertEquals(utc - 5 * 3600 - 30 * 60, MONTH_FIRST.epochSecond("2022-10-17T14:35:02+05:30"));
+        assertEquals(utc - 2 * 3600, MONTH_FIRST.epochSecond("2022-10-17T14:35:02+02"));
+        assertEquals(utc + 3 * 3600, MONTH_FIRST.epochSecond("2022-10-17T14:35:02America/Sao_Paulo"));
+    }
+
+    @Test
+    void keepsTheLocalValuesOfZonedTimes() {
+        var result = new GeneralDateParser.Result();
+
+        assertTrue(MONTH_FIRST.parse("2022-10-17T14:35:02+03:00", result));
+        assertTrue(result.hasZone());
+        assertEquals(LocalDateTime.of(2022, 10, 17, 14, 35, 2), result.toLocalDateTime());
+
+        assertTrue(MONTH_FIRST.parse("2022-10-17T14:35:02", result));
+        assertFalse(result.hasZone());
+    }
+
+    //-- Rejected Inputs
+
+    @Test
+    void rejectsMalformedDates() {
+        for (var text : new String[]{"", "2022", "2022/10", "10/17", "17/10/22", "123/10/2022", "20221/10/17",
+                "10 17 2022", "10/17/2022x", "a10/17/2022", "2022-10-1714:35:02"})
+            assertEquals(INVALID, MONTH_FIRST.epochDay(text), text);
+    }
+
+    @Test
+    void rejectsOutOfRangeFields() {
+        for (var text : new String[]{"13/13/2022", "00/10/2022", "10/00/2022", "10/32/2022", "2022-13-01",
+                "2022-10-32", "0000-10-17"})
+            assertEquals(INVALID, MONTH_FIRST.epochDay(text), text);
+    }
+
+    @Test
+    void rejectsMalformedTimes() {
+        for (var text : new String[]{"2022-10-17T", "2022-10-17T14:35", "2022-10-17T25:00:00",
+                "2022-10-17T14:60:00", "2022-10-17T14:35:60", "2022-10-17T24:00:01", "2022-10-17T14:35:02.",
+                "2022-10-17T14:35:02 "})
+            assertEquals(INVALID, MONTH_FIRST.epochSecond(text), text);
+    }
+
+    @Test
+    void rejectsMalformedZones() {
+        for (var text : new String[]{"2022-10-17T14:35:02+3", "2022-10-17T14:35:02+19:00",
+                "2022-10-17T14:35:02+03:60", "2022-10-17T14:35:02ZZ", "2022-10-17T14:35:02Not/AZone",
+                "2022-10-17T14:35:02+03:00:00"})
+            assertEquals(INVALID, MONTH_FIRST.epochSecond(text), text);
+    }
+
+    @Test
+    void reportsWhereTheParseFailed() {
+        var result = new GeneralDateParser.Result();
+
+        assertFalse(MONTH_FIRST.parse("17/10/22", result));
+        assertEquals(6, result.errorIndex());
+        assertFalse(MONTH_FIRST.parse("2022-10-17T14:35", result));
+        assertEquals(16, result.errorIndex());
+        assertTrue(MONTH_FIRST.parse("2022-10-17", result));
+        assertEquals(-1, result.errorIndex());
+    }
+
+    @Test
+    void parsesRangesOfALargerText() {
+        var text = "id;2022-10-17;x";
+
+        assertEquals(DATE.toEpochDay(), MONTH_FIRST.epochDay(text, 3, 13));
+        assertEquals(INVALID, MONTH_FIRST.epochDay(text, 3, 14));
+        assertNull(MONTH_FIRST.parseLocalDate(text));
+    }
+
+    //-- DateUtil
+
+    @Test
+    void dateUtilParsesWithTheMonthFirstParser() {
+        assertEquals(DATE, DateUtil.parseLocalDate("17/10/2022"));
+        assertEquals(DATE, DateUtil.parseLocalDate("10/17/2022"));
+        assertEquals(LocalDate.of(2022, 5, 6), DateUtil.parseLocalDate("05/06/2022"));
+        assertEquals(LocalDateTime.of(2022, 10, 17, 14, 35, 2), DateUtil.parse("2022-10-17T14:35:02Z"));
+    }
+
+    @Test
+    void dateUtilRejectsWhatTheParserRejects() {
+        var ex = assertThrows(DateTimeParseException.class, () -> DateUtil.parseLocalDate("17/10/22"));
+        assertEquals(6, ex.getErrorIndex());
+        assertThrows(DateTimeParseException.class, () -> DateUtil.parseLocalDate("13/13/2022"));
+    }
+
+    //-- Support methods
+
+    private static void assertDate(LocalDate expected, Layout layout, String text) {
+        var result = new GeneralDateParser.Result();
+
+        assertTrue(MONTH_FIRST.parse(text, result), text);
+        assertEquals(expected, result.toLocalDate(), text);
+        assertEquals(layout, result.layout(), text);
+        assertFalse(result.hasTime(), text);
+    }
+
+}